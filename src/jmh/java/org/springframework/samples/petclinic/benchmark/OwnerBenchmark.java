@@ -0,0 +1,85 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.samples.petclinic.formatting.persistance.owner.Owner;
+import org.springframework.samples.petclinic.formatting.persistance.owner.Pet;
+
+/**
+ * Pet lookups of {@link Owner}, run by every pet and visit form. The pet looked up is the
+ * last one added, the worst case of a scan, and by name it is given in another case than
+ * it was saved with.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OwnerBenchmark {
+
+	@Param({ "1", "10", "100", "1000" })
+	int pets;
+
+	private Owner owner;
+
+	private Integer lastId;
+
+	private String lastName;
+
+	@Setup
+	public void setup() {
+		this.owner = new Owner();
+		for (int i = 1; i <= this.pets; i++) {
+			Pet pet = new Pet();
+			pet.setName("Pet " + i);
+			this.owner.addPet(pet);
+			// saved after adding, as the owner only accepts new pets
+			pet.setId(i);
+		}
+		this.lastId = this.pets;
+		this.lastName = "PET " + this.pets;
+	}
+
+	@Benchmark
+	public Pet getPetById() {
+		return this.owner.getPet(this.lastId);
+	}
+
+	@Benchmark
+	public Pet getPetByName() {
+		return this.owner.getPet(this.lastName, false);
+	}
+
+	@Benchmark
+	public Pet getSavedPetByName() {
+		return this.owner.getPet(this.lastName, true);
+	}
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.text.ParseException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.samples.petclinic.domain.reference.ReferenceDataRegistry;
+import org.springframework.samples.petclinic.domain.repository.PetTypeRepository;
+import org.springframework.samples.petclinic.domain.repository.SpecialtyRepository;
+import org.springframework.samples.petclinic.formatting.formatting.PetTypeFormatter;
+import org.springframework.samples.petclinic.formatting.persistance.model.PetType;
+import org.springframework.samples.petclinic.formatting.persistance.owner.Pet;
+import org.springframework.samples.petclinic.formatting.validation.PetValidator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+/**
+ * Binding and validation of a submitted pet form: {@link PetTypeFormatter#parse} for the
+ * type and {@link PetValidator#validate} for the pet, both for a complete form and for an
+ * empty one that fails every check. The formatter reads from a
+ * {@link ReferenceDataRegistry} loaded from in-memory repositories.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PetFormBenchmark {
+
+	@Param({ "6", "100" })
+	int petTypes;
+
+	private PetTypeFormatter formatter;
+
+	private String typeName;
+
+	private final PetValidator validator = new PetValidator();
+
+	private Pet completePet;
+
+	private Pet emptyPet;
+
+	@Setup
+	public void setup() {
+		List<PetType> types = new ArrayList<>();
+		for (int i = 1; i <= this.petTypes; i++) {
+			PetType type = new PetType();
+			type.setId(i);
+			type.setName("type " + i);
+			types.add(type);
+		}
+		ReferenceDataRegistry referenceData = new ReferenceDataRegistry(repository(PetTypeRepository.class, types),
+				repository(SpecialtyRepository.class, List.of()), new NoTransactionManager());
+		referenceData.refresh();
+		this.formatter = new PetTypeFormatter(referenceData);
+		this.typeName = "type " + this.petTypes;
+
+		this.completePet = new Pet();
+		this.completePet.setName("Leo");
+		this.completePet.setType(types.get(0));
+		this.completePet.setBirthDate(LocalDate.of(2020, 9, 7));
+		this.emptyPet = new Pet();
+	}
+
+	@Benchmark
+	public PetType parsePetType() throws ParseException {
+		return this.formatter.parse(this.typeName, Locale.ENGLISH);
+	}
+
+	@Benchmark
+	public Errors validateCompletePet() {
+		return validate(this.completePet);
+	}
+
+	@Benchmark
+	public Errors validateEmptyPet() {
+		return validate(this.emptyPet);
+	}
+
+	private Errors validate(Pet pet) {
+		// a binding result per form submission, as in the controllers
+		Errors errors = new BeanPropertyBindingResult(pet, "pet");
+		this.validator.validate(pet, errors);
+		return errors;
+	}
+
+	/**
+	 * Return a repository whose only query answers the given entities.
+	 */
+	private static <T> T repository(Class<T> type, List<?> entities) {
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+				(proxy, method, args) -> {
+					if (method.getName().startsWith("find")) {
+						return entities;
+					}
+					throw new UnsupportedOperationException(method.getName());
+				}));
+	}
+
+	private static final class NoTransactionManager implements PlatformTransactionManager {
+
+		@Override
+		public TransactionStatus getTransaction(TransactionDefinition definition) {
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) {
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) {
+		}
+
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.samples.petclinic.domain.Vets;
+import org.springframework.samples.petclinic.formatting.persistance.vet.Specialty;
+import org.springframework.samples.petclinic.formatting.persistance.vet.Vet;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * {@link Vet#getSpecialties()}, called for every vet when the vet list is rendered or
+ * serialized, and the JSON serialization of a list of ten such vets as served by
+ * <code>/vets</code>.
+ * <p>
+ * Average time in ns/op, with the 99.9% confidence interval over five 1s iterations
+ * after three 1s warmup iterations, before and after {@link Vet#getSpecialties()} kept
+ * its sorted list (OpenJDK 17.0.9 Temurin, <code>-Xms512m -Xmx512m</code>, one vCPU).
+ * These were taken with a plain loop using the same setup and iteration counts, as the
+ * JMH artifacts could not be resolved offline; rerun with JMH for publishable figures.
+ * </p>
+ * <pre>
+ * specialties    getSpecialties before / after     writeVetList before / after
+ *  0             95.8 ± 47.7  /  10.5 ± 3.4       2275 ± 294    /  3428 ± 2177
+ *  1             95.9 ± 44.4  /   9.8 ± 2.8       3865 ± 1959   /  3536 ± 323
+ *  3            189.3 ± 183.8 /   9.7 ± 3.8       7772 ± 5958   /  6717 ± 3186
+ * 10            439.7 ± 120.8 /   9.9 ± 5.2      19866 ± 14634  / 12082 ± 5030
+ * </pre>
+ * <p>
+ * <code>getSpecialties</code> no longer grows with the number of specialties. The
+ * serialization figures overlap within their error on this machine; only the run with
+ * ten specialties per vet suggests an improvement.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VetBenchmark {
+
+	@Param({ "0", "1", "3", "10" })
+	int specialties;
+
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+	private final Vets vets = new Vets();
+
+	@Setup
+	public void setup() {
+		for (int id = 1; id <= 10; id++) {
+			Vet vet = new Vet();
+			vet.setId(id);
+			vet.setFirstName("James");
+			vet.setLastName("Carter");
+			// added in reverse order, so that they have to be sorted
+			for (int i = this.specialties; i > 0; i--) {
+				Specialty specialty = new Specialty();
+				specialty.setId(i);
+				specialty.setName("specialty " + (char) ('a' + i));
+				vet.addSpecialty(specialty);
+			}
+			this.vets.getVetList().add(vet);
+		}
+	}
+
+	@Benchmark
+	public List<Specialty> getSpecialties() {
+		return this.vets.getVetList().get(0).getSpecialties();
+	}
+
+	@Benchmark
+	public byte[] writeVetList() {
+		return this.jsonMapper.writeValueAsBytes(this.vets);
+	}
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.domain.reference;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener refreshing the {@link ReferenceDataRegistry} once a transaction
+ * writing a pet type or specialty commits. Instantiated by Hibernate through the Spring
+ * bean container.
+ */
+public class ReferenceDataListener {
+
+	private final ObjectProvider<ReferenceDataRegistry> registry;
+
+	public ReferenceDataListener(ObjectProvider<ReferenceDataRegistry> registry) {
+		this.registry = registry;
+	}
+
+	@PostPersist
+	@PostUpdate
+	@PostRemove
+	void changed(Object entity) {
+		ReferenceDataRegistry registry = this.registry.getIfAvailable();
+		if (registry == null) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					registry.refresh();
+				}
+			});
+		}
+		else {
+			registry.refresh();
+		}
+	}
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.domain.reference;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.samples.petclinic.domain.repository.PetTypeRepository;
+import org.springframework.samples.petclinic.domain.repository.SpecialtyRepository;
+import org.springframework.samples.petclinic.formatting.persistance.model.NamedRelationEntity;
+import org.springframework.samples.petclinic.formatting.persistance.model.PetType;
+import org.springframework.samples.petclinic.formatting.persistance.vet.Specialty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+/**
+ * In-memory registry of the reference data: {@link PetType}s, looked up by id or name
+ * without a query, and the {@link Specialty}s, which only count towards the
+ * {@link #getRevision() revision}. Vets are always loaded together with their
+ * specialties, so looking those up here would not save a query.
+ * <p>
+ * The data is held as one immutable snapshot that {@link #refresh()} replaces as a
+ * whole, so readers always see a consistent set. It is loaded before the application
+ * starts serving requests and reloaded by {@link ReferenceDataListener} whenever a pet
+ * type or specialty is written. The entities handed out are detached copies shared by
+ * all callers and must not be modified.
+ * </p>
+ */
+@Component
+public class ReferenceDataRegistry implements SmartInitializingSingleton {
+
+	private final PetTypeRepository petTypes;
+
+	private final SpecialtyRepository specialties;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+	public ReferenceDataRegistry(PetTypeRepository petTypes, SpecialtyRepository specialties,
+			PlatformTransactionManager transactionManager) {
+		this.petTypes = petTypes;
+		this.specialties = specialties;
+		// a new transaction, as a refresh may run while the writing one completes
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.transactionTemplate.setReadOnly(true);
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		refresh();
+	}
+
+	/**
+	 * Reload all reference data from the database and publish it at once.
+	 */
+	public void refresh() {
+		Snapshot loaded = this.transactionTemplate.execute(status -> Snapshot.of(
+				Index.of(this.petTypes.findPetTypes(), PetType::new),
+				this.specialties.findSpecialties()
+					.stream()
+					.map(specialty -> Index.copy(specialty, Specialty::new))
+					.toList()));
+		this.snapshot.set(loaded);
+	}
+
+	/**
+	 * Return a digest of the ids and names of all pet types and specialties. It changes
+	 * whenever one is added, renamed or removed, so pages showing their names can make it
+	 * part of their <code>ETag</code>.
+	 */
+	public String getRevision() {
+		return this.snapshot.get().revision();
+	}
+
+	/**
+	 * Return all pet types, ordered by name.
+	 */
+	public List<PetType> getPetTypes() {
+		return this.snapshot.get().petTypes().all();
+	}
+
+	public Optional<PetType> findPetType(Integer id) {
+		return Optional.ofNullable(this.snapshot.get().petTypes().byId().get(id));
+	}
+
+	public Optional<PetType> findPetType(String name) {
+		return Optional.ofNullable(this.snapshot.get().petTypes().byName().get(name));
+	}
+
+	private record Snapshot(Index<PetType> petTypes, List<Specialty> specialties, String revision) {
+
+		static final Snapshot EMPTY = new Snapshot(new Index<>(List.of(), Map.of(), Map.of()), List.of(), "");
+
+		static Snapshot of(Index<PetType> petTypes, List<Specialty> specialties) {
+			StringBuilder content = new StringBuilder();
+			for (List<? extends NamedRelationEntity> entities : List.of(petTypes.all(), specialties)) {
+				for (NamedRelationEntity entity : entities) {
+					content.append(entity.getId()).append('=').append(entity.getName()).append('\n');
+				}
+				content.append('\n');
+			}
+			return new Snapshot(petTypes, specialties,
+					DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)));
+		}
+
+	}
+
+	private record Index<T extends NamedRelationEntity>(List<T> all, Map<Integer, T> byId, Map<String, T> byName) {
+
+		static <T extends NamedRelationEntity> Index<T> of(Collection<T> loaded, Supplier<T> factory) {
+			List<T> all = loaded.stream().map(entity -> copy(entity, factory)).toList();
+			return new Index<>(all, all.stream().collect(Collectors.toUnmodifiableMap(T::getId, Function.identity())),
+					all.stream().collect(Collectors.toUnmodifiableMap(T::getName, Function.identity())));
+		}
+
+		private static <T extends NamedRelationEntity> T copy(T entity, Supplier<T> factory) {
+			// copied so that the snapshot holds plain objects, not instances of a session
+			T copy = factory.get();
+			copy.setId(entity.getId());
+			copy.setName(entity.getName());
+			return copy;
+		}
+
+	}
+
+}
@@ -15,12 +15,24 @@
  */
 package org.springframework.samples.petclinic.domain.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.samples.petclinic.formatting.persistance.owner.Owner;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 /**
  * Repository class for <code>Owner</code> domain objects. All method names are compliant
@@ -43,8 +55,67 @@ public interface OwnerRepository extends JpaRepository<Owner, Integer> {
 	 * @return a Collection of matching {@link Owner}s (or an empty Collection if none
 	 * found)
 	 */
+	@Transactional(readOnly = true)
 	Page<Owner> findByLastNameStartingWith(String lastName, Pageable pageable);
 
+	/**
+	 * Retrieve {@link OwnerSummary}s from the data store by last name, returning all
+	 * owners whose last name <i>starts</i> with the given name. Only the owner columns are
+	 * selected, pets and visits are not loaded; see {@link #findPetNamesByOwnerIds}.
+	 * @param lastName Value to search for
+	 * @param pageable the page to retrieve
+	 * @return a page of matching {@link OwnerSummary}s without pet names
+	 */
+	@Transactional(readOnly = true)
+	@Query(value = "SELECT new org.springframework.samples.petclinic.domain.repository.OwnerSummary("
+			+ "owner.id, owner.firstName, owner.lastName, owner.address, owner.city, owner.telephone) "
+			+ "FROM Owner owner WHERE owner.lastName LIKE :lastName% ORDER BY owner.lastName, owner.id",
+			countQuery = "SELECT count(owner) FROM Owner owner WHERE owner.lastName LIKE :lastName%")
+	Page<OwnerSummary> findSummariesByLastNameStartingWith(String lastName, Pageable pageable);
+
+	/**
+	 * Retrieve a {@link Slice} of {@link OwnerSummary}s by last name. Unlike
+	 * {@link #findSummariesByLastNameStartingWith} no count query is issued; one extra row
+	 * is read to tell whether there is a next slice.
+	 * @param lastName Value to search for
+	 * @param pageable the slice to retrieve
+	 * @return a slice of matching {@link OwnerSummary}s without pet names
+	 */
+	@Transactional(readOnly = true)
+	@Query("SELECT new org.springframework.samples.petclinic.domain.repository.OwnerSummary("
+			+ "owner.id, owner.firstName, owner.lastName, owner.address, owner.city, owner.telephone) "
+			+ "FROM Owner owner WHERE owner.lastName LIKE :lastName% ORDER BY owner.lastName, owner.id")
+	Slice<OwnerSummary> findSummarySliceByLastNameStartingWith(String lastName, Pageable pageable);
+
+	/**
+	 * Retrieve {@link OwnerSummary}s by last name that sort after the given
+	 * (last name, id) position. The query seeks on the <code>(last_name, id)</code> index
+	 * instead of skipping rows, so every page costs the same as the first one.
+	 * @param lastName Value to search for
+	 * @param afterLastName last name of the last owner already seen, empty to start
+	 * @param afterId id of the last owner already seen, 0 to start
+	 * @param limit the maximum number of owners to return
+	 * @return matching {@link OwnerSummary}s without pet names, ordered by last name and
+	 * id
+	 */
+	@Transactional(readOnly = true)
+	@Query("SELECT new org.springframework.samples.petclinic.domain.repository.OwnerSummary("
+			+ "owner.id, owner.firstName, owner.lastName, owner.address, owner.city, owner.telephone) "
+			+ "FROM Owner owner WHERE owner.lastName LIKE :lastName% AND (owner.lastName > :afterLastName "
+			+ "OR (owner.lastName = :afterLastName AND owner.id > :afterId)) ORDER BY owner.lastName, owner.id")
+	List<OwnerSummary> findSummariesByLastNameStartingWithAfter(String lastName, String afterLastName, int afterId,
+			Limit limit);
+
+	/**
+	 * Retrieve the pet names of the given owners in a single query, ordered by name.
+	 * @param ownerIds the ids of the owners
+	 * @return the pet names paired with the id of their owner
+	 */
+	@Transactional(readOnly = true)
+	@Query("SELECT new org.springframework.samples.petclinic.domain.repository.OwnerPetName(owner.id, pet.name) "
+			+ "FROM Owner owner JOIN owner.pets pet WHERE owner.id IN :ownerIds ORDER BY pet.name")
+	List<OwnerPetName> findPetNamesByOwnerIds(Collection<Integer> ownerIds);
+
 	/**
 	 * Retrieve an {@link Owner} from the data store by id.
 	 * <p>
@@ -58,6 +129,62 @@ public interface OwnerRepository extends JpaRepository<Owner, Integer> {
 	 * @throws IllegalArgumentException if the id is null (assuming null is not a valid
 	 * input for id)
 	 */
+	@Transactional(readOnly = true)
 	Optional<Owner> findById(Integer id);
 
+	/**
+	 * Retrieve an {@link Owner} together with its pets and their types in a single
+	 * query. Visits are not loaded.
+	 * @param id the id to search for
+	 * @return an {@link Optional} containing the {@link Owner} if found
+	 */
+	@Transactional(readOnly = true)
+	@EntityGraph(Owner.PETS_GRAPH)
+	Optional<Owner> findWithPetsById(Integer id);
+
+	/**
+	 * Retrieve an {@link Owner} together with its pets, their types and their visits in a
+	 * single query.
+	 * @param id the id to search for
+	 * @return an {@link Optional} containing the {@link Owner} if found
+	 */
+	@Transactional(readOnly = true)
+	@EntityGraph(Owner.PETS_AND_VISITS_GRAPH)
+	Optional<Owner> findWithPetsAndVisitsById(Integer id);
+
+	/**
+	 * Retrieve the {@link Revision} of an {@link Owner} together with its pets and their
+	 * visits, the rows shown on the owner details page. Pets and visits are aggregated in
+	 * separate subqueries rather than over a join, where each pet would be counted once
+	 * per visit.
+	 * @param id the id of the owner
+	 * @return an {@link Optional} containing the {@link Revision} if the owner exists
+	 */
+	@Transactional(readOnly = true)
+	@Query("SELECT new org.springframework.samples.petclinic.domain.repository.Revision("
+			+ "1 + (SELECT count(pet) FROM Pet pet WHERE pet.owner = owner) "
+			+ "+ (SELECT count(visit) FROM Visit visit WHERE visit.pet.owner = owner), "
+			+ "owner.id + (SELECT coalesce(sum(pet.id), 0) FROM Pet pet WHERE pet.owner = owner) "
+			+ "+ (SELECT coalesce(sum(visit.id), 0) FROM Visit visit WHERE visit.pet.owner = owner), "
+			+ "owner.version + (SELECT coalesce(sum(pet.version), 0) FROM Pet pet WHERE pet.owner = owner) "
+			+ "+ (SELECT coalesce(sum(visit.version), 0) FROM Visit visit WHERE visit.pet.owner = owner), "
+			+ "greatest(owner.lastModified, "
+			+ "coalesce((SELECT max(pet.lastModified) FROM Pet pet WHERE pet.owner = owner), owner.lastModified), "
+			+ "coalesce((SELECT max(visit.lastModified) FROM Visit visit WHERE visit.pet.owner = owner), "
+			+ "owner.lastModified))) "
+			+ "FROM Owner owner WHERE owner.id = :id")
+	Optional<Revision> findRevisionById(Integer id);
+
+	/**
+	 * Stream all {@link Owner}s in id order through a forward-only cursor. Must be
+	 * consumed within a transaction, and the stream closed afterwards. The owners are
+	 * read-only: changes to them are not written back.
+	 * @return the owners, without their pets
+	 */
+	@Transactional(readOnly = true)
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("SELECT owner FROM Owner owner ORDER BY owner.id")
+	Stream<Owner> streamAllBy();
+
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.domain.repository;
+
+import java.util.List;
+
+/**
+ * Read-only view of an owner holding only the columns shown on the owner list. Unlike
+ * {@link org.springframework.samples.petclinic.formatting.persistance.owner.Owner} it
+ * never carries pets or visits, only the names of the pets.
+ *
+ * @param id the owner id
+ * @param firstName the owner's first name
+ * @param lastName the owner's last name
+ * @param address the owner's address
+ * @param city the owner's city
+ * @param telephone the owner's telephone
+ * @param pets the names of the owner's pets, sorted by name
+ */
+public record OwnerSummary(Integer id, String firstName, String lastName, String address, String city,
+		String telephone, List<String> pets) {
+
+	/**
+	 * Constructor used by the JPQL constructor expression, pet names are added later via
+	 * {@link #withPets(List)}.
+	 */
+	public OwnerSummary(Integer id, String firstName, String lastName, String address, String city,
+			String telephone) {
+		this(id, firstName, lastName, address, city, telephone, List.of());
+	}
+
+	public OwnerSummary withPets(List<String> pets) {
+		return new OwnerSummary(this.id, this.firstName, this.lastName, this.address, this.city, this.telephone,
+				List.copyOf(pets));
+	}
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.domain.repository;
+
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.samples.petclinic.formatting.persistance.owner.Pet;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+/**
+ * Repository class for <code>Pet</code> domain objects, for the use cases that do not need
+ * the owner aggregate. Pets are still created and updated through their
+ * {@link org.springframework.samples.petclinic.formatting.persistance.owner.Owner}.
+ */
+public interface PetRepository extends Repository<Pet, Integer> {
+
+	/**
+	 * Count the pets with the given id that belong to the given owner.
+	 * @param ownerId the id of the owner
+	 * @param petId the id of the pet
+	 * @return 1 if the pet belongs to the owner, 0 otherwise
+	 */
+	@Transactional(readOnly = true)
+	@Query("SELECT count(pet) FROM Pet pet WHERE pet.id = :petId AND pet.owner.id = :ownerId")
+	long countByOwner(int ownerId, int petId);
+
+	/**
+	 * Return a reference to the <code>Pet</code> with the given id without loading it.
+	 * @param id the id of the pet
+	 * @return a reference to the pet
+	 */
+	Pet getReferenceById(Integer id);
+
+	/**
+	 * Stream all <code>Pet</code>s with their types in id order through a forward-only
+	 * cursor. Must be consumed within a transaction, and the stream closed afterwards.
+	 * The pets are read-only: changes to them are not written back.
+	 * @return the pets, without their visits
+	 */
+	@Transactional(readOnly = true)
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("SELECT pet FROM Pet pet JOIN FETCH pet.type ORDER BY pet.id")
+	Stream<Pet> streamAllBy();
+
+}
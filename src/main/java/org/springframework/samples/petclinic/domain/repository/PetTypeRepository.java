@@ -21,6 +21,7 @@ import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.samples.petclinic.formatting.persistance.model.PetType;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repository class for <code>PetType</code> domain objects.
@@ -34,6 +35,7 @@ public interface PetTypeRepository extends JpaRepository<PetType, Integer> {
 	 * Retrieve all {@link PetType}s from the data store.
 	 * @return a Collection of {@link PetType}s.
 	 */
+	@Transactional(readOnly = true)
 	@Query("SELECT ptype FROM PetType ptype ORDER BY ptype.name")
 	List<PetType> findPetTypes();
 
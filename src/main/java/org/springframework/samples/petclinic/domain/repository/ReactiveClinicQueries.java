@@ -0,0 +1,116 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.domain.repository;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import org.jspecify.annotations.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking read queries over R2DBC for the reactive read API, against the same
+ * schema as the JPA repositories. Results are streamed: rows are read from the database
+ * as the subscriber requests them, so a slow client holds back the query instead of the
+ * whole result being buffered in memory.
+ * <p>
+ * Associations are read in the same query, ordered by the id of their parent, and the
+ * consecutive rows of one parent are folded into one summary.
+ * </p>
+ */
+public class ReactiveClinicQueries {
+
+	private static final String OWNERS = "SELECT o.id AS id, o.first_name AS first_name, o.last_name AS last_name, "
+			+ "o.address AS address, o.city AS city, o.telephone AS telephone, p.name AS pet_name "
+			+ "FROM owners o LEFT JOIN pets p ON p.owner_id = o.id ";
+
+	private final DatabaseClient databaseClient;
+
+	public ReactiveClinicQueries(DatabaseClient databaseClient) {
+		this.databaseClient = databaseClient;
+	}
+
+	/**
+	 * Stream all vets with their specialties, ordered by last name and id.
+	 */
+	public Flux<VetSummary> findVets() {
+		return this.databaseClient
+			.sql("SELECT v.id AS id, v.first_name AS first_name, v.last_name AS last_name, s.name AS specialty "
+					+ "FROM vets v LEFT JOIN vet_specialties vs ON vs.vet_id = v.id "
+					+ "LEFT JOIN specialties s ON s.id = vs.specialty_id ORDER BY v.last_name, v.id, s.name")
+			.map((row, metadata) -> new VetRow(row.get("id", Integer.class), row.get("first_name", String.class),
+					row.get("last_name", String.class), row.get("specialty", String.class)))
+			.all()
+			.bufferUntilChanged(VetRow::id)
+			.map(ReactiveClinicQueries::toVet);
+	}
+
+	/**
+	 * Stream the owners whose last name starts with the given name, with the names of
+	 * their pets, ordered by last name and id.
+	 */
+	public Flux<OwnerSummary> findOwnersByLastName(String lastName) {
+		return this.databaseClient.sql(OWNERS + "WHERE o.last_name LIKE :lastName ORDER BY o.last_name, o.id, p.name")
+			.bind("lastName", lastName + "%")
+			.map((row, metadata) -> new OwnerRow(row.get("id", Integer.class), row.get("first_name", String.class),
+					row.get("last_name", String.class), row.get("address", String.class),
+					row.get("city", String.class), row.get("telephone", String.class),
+					row.get("pet_name", String.class)))
+			.all()
+			.bufferUntilChanged(OwnerRow::id)
+			.map(ReactiveClinicQueries::toOwner);
+	}
+
+	/**
+	 * Find an owner by id, with the names of its pets.
+	 */
+	public Mono<OwnerSummary> findOwner(int ownerId) {
+		return this.databaseClient.sql(OWNERS + "WHERE o.id = :id ORDER BY p.name")
+			.bind("id", ownerId)
+			.map((row, metadata) -> new OwnerRow(row.get("id", Integer.class), row.get("first_name", String.class),
+					row.get("last_name", String.class), row.get("address", String.class),
+					row.get("city", String.class), row.get("telephone", String.class),
+					row.get("pet_name", String.class)))
+			.all()
+			.collectList()
+			.filter(rows -> !rows.isEmpty())
+			.map(ReactiveClinicQueries::toOwner);
+	}
+
+	private static VetSummary toVet(List<VetRow> rows) {
+		VetRow vet = rows.get(0);
+		List<String> specialties = rows.stream().map(VetRow::specialty).filter(Objects::nonNull).toList();
+		return new VetSummary(vet.id(), vet.firstName(), vet.lastName(), specialties);
+	}
+
+	private static OwnerSummary toOwner(List<OwnerRow> rows) {
+		OwnerRow owner = rows.get(0);
+		List<String> pets = rows.stream().map(OwnerRow::petName).filter(Objects::nonNull).toList();
+		return new OwnerSummary(owner.id(), owner.firstName(), owner.lastName(), owner.address(), owner.city(),
+				owner.telephone(), pets);
+	}
+
+	private record VetRow(Integer id, String firstName, String lastName, @Nullable String specialty) {
+	}
+
+	private record OwnerRow(Integer id, String firstName, String lastName, String address, String city,
+			String telephone, @Nullable String petName) {
+	}
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.domain.repository;
+
+import java.time.LocalDateTime;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Fingerprint of the rows behind a page, read with a single aggregate query instead of
+ * loading the rows themselves. Every write to one of the rows changes it: inserts and
+ * deletes change the row count or the sum of the ids (new ids are never reused), updates
+ * increment a version and move the last modification time forward.
+ *
+ * @param rows the number of rows
+ * @param ids the sum of the row ids
+ * @param versions the sum of the row versions
+ * @param lastModified the most recent modification time of the rows, {@code null} if
+ * there are none
+ */
+public record Revision(long rows, long ids, long versions, @Nullable LocalDateTime lastModified) {
+
+}
@@ -17,13 +17,20 @@ package org.springframework.samples.petclinic.domain.repository;
 
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.Repository;
 import org.springframework.samples.petclinic.formatting.persistance.vet.Vet;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Repository class for <code>Vet</code> domain objects All method names are compliant
@@ -44,8 +51,20 @@ public interface VetRepository extends Repository<Vet, Integer> {
 	 */
 	@Transactional(readOnly = true)
 	@Cacheable("vets")
+	@EntityGraph(Vet.SPECIALTIES_GRAPH)
 	Collection<Vet> findAll() throws DataAccessException;
 
+	/**
+	 * Retrieve the {@link Revision} of all <code>Vet</code>s. Changing the specialties of
+	 * a vet increments its version as well.
+	 * @return the {@link Revision}, without a modification time if there are no vets
+	 */
+	@Transactional(readOnly = true)
+	@Query("SELECT new org.springframework.samples.petclinic.domain.repository.Revision("
+			+ "count(vet), coalesce(sum(vet.id), 0), coalesce(sum(vet.version), 0), max(vet.lastModified)) "
+			+ "FROM Vet vet")
+	Revision findRevision();
+
 	/**
 	 * Retrieve all <code>Vet</code>s from data store in Pages
 	 * @param pageable
@@ -53,7 +72,65 @@ public interface VetRepository extends Repository<Vet, Integer> {
 	 * @throws DataAccessException
 	 */
 	@Transactional(readOnly = true)
-	@Cacheable("vets")
-	Page<Vet> findAll(Pageable pageable) throws DataAccessException;
+	@Cacheable(cacheNames = "vetPages", key = "{'page', #pageable}")
+	default Page<Vet> findAll(Pageable pageable) throws DataAccessException {
+		Page<Integer> ids = findIdsBy(pageable);
+		return new PageImpl<>(findWithSpecialtiesByIdIn(ids.getContent()), pageable, ids.getTotalElements());
+	}
+
+	/**
+	 * Retrieve a {@link Slice} of <code>Vet</code>s ordered by last name and id, without
+	 * counting all vets.
+	 * @param pageable the slice to retrieve
+	 * @return a slice of <code>Vet</code>s
+	 * @throws DataAccessException
+	 */
+	@Transactional(readOnly = true)
+	@Cacheable(cacheNames = "vetPages", key = "{'slice', #pageable}")
+	default Slice<Vet> findSliceBy(Pageable pageable) throws DataAccessException {
+		Slice<Integer> ids = findIdSliceBy(pageable);
+		return new SliceImpl<>(findWithSpecialtiesByIdIn(ids.getContent()), pageable, ids.hasNext());
+	}
+
+	/**
+	 * Retrieve the <code>Vet</code>s that sort after the given (last name, id) position,
+	 * seeking on the <code>(last_name, id)</code> index instead of skipping rows.
+	 * @param afterLastName last name of the last vet already seen, empty to start
+	 * @param afterId id of the last vet already seen, 0 to start
+	 * @param limit the maximum number of vets to return
+	 * @return <code>Vet</code>s ordered by last name and id
+	 * @throws DataAccessException
+	 */
+	@Transactional(readOnly = true)
+	@Cacheable(cacheNames = "vetPages", key = "{'after', #afterLastName, #afterId, #limit}")
+	default List<Vet> findAfter(String afterLastName, int afterId, Limit limit) throws DataAccessException {
+		return findWithSpecialtiesByIdIn(findIdsAfter(afterLastName, afterId, limit));
+	}
+
+	/**
+	 * Retrieve a page of vet ids. The specialties are fetched separately with
+	 * {@link #findWithSpecialtiesByIdIn} so that paging happens in the database rather
+	 * than over a collection fetch in memory.
+	 */
+	@Query(value = "SELECT vet.id FROM Vet vet ORDER BY vet.lastName, vet.id",
+			countQuery = "SELECT count(vet) FROM Vet vet")
+	Page<Integer> findIdsBy(Pageable pageable);
+
+	@Query("SELECT vet.id FROM Vet vet ORDER BY vet.lastName, vet.id")
+	Slice<Integer> findIdSliceBy(Pageable pageable);
+
+	@Query("SELECT vet.id FROM Vet vet WHERE vet.lastName > :afterLastName "
+			+ "OR (vet.lastName = :afterLastName AND vet.id > :afterId) ORDER BY vet.lastName, vet.id")
+	List<Integer> findIdsAfter(String afterLastName, int afterId, Limit limit);
+
+	/**
+	 * Retrieve the given <code>Vet</code>s together with their specialties, ordered by
+	 * last name and id.
+	 * @param ids the ids of the vets
+	 * @return the <code>Vet</code>s
+	 */
+	@EntityGraph(Vet.SPECIALTIES_GRAPH)
+	@Query("SELECT vet FROM Vet vet WHERE vet.id IN :ids ORDER BY vet.lastName, vet.id")
+	List<Vet> findWithSpecialtiesByIdIn(Collection<Integer> ids);
 
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.domain.repository;
+
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.samples.petclinic.formatting.persistance.owner.Visit;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+/**
+ * Repository class for <code>Visit</code> domain objects. Visits are only ever added, so
+ * they are written on their own instead of through the owner aggregate.
+ */
+public interface VisitRepository extends Repository<Visit, Integer> {
+
+	/**
+	 * Save a <code>Visit</code> to the data store. The pet of the visit only has to carry
+	 * its id, see {@link PetRepository#getReferenceById}.
+	 * @param visit the <code>Visit</code> to save
+	 * @return the saved <code>Visit</code>
+	 */
+	Visit save(Visit visit);
+
+	/**
+	 * Stream all <code>Visit</code>s in id order through a forward-only cursor. Must be
+	 * consumed within a transaction, and the stream closed afterwards. The visits are
+	 * read-only: changes to them are not written back.
+	 * @return the visits, with their pet as an uninitialized reference
+	 */
+	@Transactional(readOnly = true)
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("SELECT visit FROM Visit visit ORDER BY visit.id")
+	Stream<Visit> streamAllBy();
+
+}
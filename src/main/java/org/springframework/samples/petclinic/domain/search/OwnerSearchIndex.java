@@ -0,0 +1,364 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.domain.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.samples.petclinic.domain.repository.OwnerRepository;
+import org.springframework.samples.petclinic.domain.repository.OwnerSummary;
+import org.springframework.samples.petclinic.formatting.persistance.owner.Owner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * In-memory trigram index over the first name, last name and city of all owners, so
+ * that any part of a name ("ohns" for "Johnson") is found without a table scan.
+ * <p>
+ * The index is built from {@link OwnerRepository} before the application starts serving
+ * requests and is kept current by {@link OwnerSearchIndexListener} once a transaction
+ * saving an owner commits. It is only created when
+ * <code>petclinic.owner-search.engine=trigram</code>.
+ * </p>
+ * <p>
+ * Texts shorter than a gram are not looked up: they would match through a scan of every
+ * owner, which the database does better, see {@link #isSearchable(String)}.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "petclinic.owner-search.engine", havingValue = "trigram")
+public class OwnerSearchIndex implements SmartInitializingSingleton {
+
+	/**
+	 * Length of the indexed grams; shorter queries are not answered by the index.
+	 */
+	static final int GRAM = 3;
+
+	private static final int CLEAR_EVERY = 1000;
+
+	private static final Comparator<OwnerSummary> BY_NAME = Comparator
+		.comparing(OwnerSummary::lastName, Comparator.nullsFirst(Comparator.naturalOrder()))
+		.thenComparing(OwnerSummary::id);
+
+	private final OwnerRepository repository;
+
+	private final EntityManager entityManager;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final Map<Integer, OwnerSummary> owners = new HashMap<>();
+
+	private final Map<String, Set<Integer>> postings = new HashMap<>();
+
+	/**
+	 * The changes committed since a running rebuild started, by owner id, the removed
+	 * ones as {@code null}.
+	 */
+	private @Nullable Map<Integer, @Nullable OwnerSummary> changesDuringRebuild;
+
+	public OwnerSearchIndex(OwnerRepository repository, EntityManager entityManager,
+			PlatformTransactionManager transactionManager) {
+		this.repository = repository;
+		this.entityManager = entityManager;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		rebuild();
+	}
+
+	/**
+	 * Replace the content of the index with all owners currently in the database. The
+	 * changes committed while the owners are read may be missing from what was read, so
+	 * they are recorded from before the read and applied again on top of it.
+	 */
+	public synchronized void rebuild() {
+		this.lock.writeLock().lock();
+		try {
+			this.changesDuringRebuild = new HashMap<>();
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+		List<OwnerSummary> all = new ArrayList<>();
+		this.transactionTemplate.executeWithoutResult(status -> {
+			try (Stream<Owner> stream = this.repository.streamAllBy()) {
+				Iterator<Owner> iterator = stream.iterator();
+				while (iterator.hasNext()) {
+					all.add(summarize(iterator.next()));
+					if (all.size() % CLEAR_EVERY == 0) {
+						this.entityManager.clear();
+					}
+				}
+			}
+		});
+		this.lock.writeLock().lock();
+		try {
+			this.owners.clear();
+			this.postings.clear();
+			all.forEach(this::add);
+			this.changesDuringRebuild.forEach((id, owner) -> {
+				remove(id, this.owners.get(id));
+				if (owner != null) {
+					add(owner);
+				}
+			});
+		}
+		finally {
+			this.changesDuringRebuild = null;
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Return whether the text is long enough to be looked up in the index, which takes at
+	 * least one gram. Shorter texts, the empty one included, should be searched in the
+	 * database instead.
+	 * @param text the text to search for
+	 */
+	public boolean isSearchable(String text) {
+		return text.length() >= GRAM;
+	}
+
+	/**
+	 * Find a page of the owners whose first name, last name or city contains the given
+	 * text, ignoring case. Only the owners up to the end of the page are kept and sorted,
+	 * however many match. A text that is not {@link #isSearchable(String) searchable}
+	 * matches no owner.
+	 * @param text the text to search for
+	 * @param pageable the page to return
+	 * @return the matching owners of the page without pet names, ordered by last name and
+	 * id, with the number of all matching owners
+	 */
+	public Page<OwnerSummary> search(String text, Pageable pageable) {
+		int end = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), Integer.MAX_VALUE);
+		PriorityQueue<OwnerSummary> top = new PriorityQueue<>(BY_NAME.reversed());
+		int total = select(text, owner -> true, end, top);
+		List<OwnerSummary> found = sorted(top);
+		int from = (int) Math.min(pageable.getOffset(), found.size());
+		return new PageImpl<>(found.subList(from, found.size()), pageable, total);
+	}
+
+	/**
+	 * Find the first owners after the given one whose first name, last name or city
+	 * contains the given text, ignoring case, the way
+	 * {@link OwnerRepository#findSummariesByLastNameStartingWithAfter} pages by keyset.
+	 * A text that is not {@link #isSearchable(String) searchable} matches no owner.
+	 * @param text the text to search for
+	 * @param afterLastName last name of the last owner already seen, empty to start
+	 * @param afterId id of the last owner already seen, 0 to start
+	 * @param limit the maximum number of owners to return
+	 * @return the matching owners without pet names, ordered by last name and id
+	 */
+	public List<OwnerSummary> searchAfter(String text, String afterLastName, int afterId, Limit limit) {
+		PriorityQueue<OwnerSummary> top = new PriorityQueue<>(BY_NAME.reversed());
+		int max = limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+		select(text, owner -> isAfter(owner, afterLastName, afterId), max, top);
+		return sorted(top);
+	}
+
+	/**
+	 * Add an owner to the index, replacing the previous version with the same id.
+	 * @param owner the owner as it was committed
+	 */
+	public void put(OwnerSummary owner) {
+		this.lock.writeLock().lock();
+		try {
+			remove(owner.id(), this.owners.get(owner.id()));
+			add(owner);
+			if (this.changesDuringRebuild != null) {
+				this.changesDuringRebuild.put(owner.id(), owner);
+			}
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Remove an owner from the index.
+	 * @param id the id of the owner
+	 */
+	public void remove(Integer id) {
+		this.lock.writeLock().lock();
+		try {
+			remove(id, this.owners.get(id));
+			if (this.changesDuringRebuild != null) {
+				this.changesDuringRebuild.put(id, null);
+			}
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Return the number of indexed owners.
+	 */
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.owners.size();
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	static OwnerSummary summarize(Owner owner) {
+		return new OwnerSummary(owner.getId(), owner.getFirstName(), owner.getLastName(), owner.getAddress(),
+				owner.getCity(), owner.getTelephone());
+	}
+
+	/**
+	 * Keep the first matching owners accepted by the filter, by last name and id, in the
+	 * given queue, whose head is the last of them.
+	 * @return the number of all matching owners accepted by the filter
+	 */
+	private int select(String text, Predicate<OwnerSummary> filter, int limit, PriorityQueue<OwnerSummary> top) {
+		if (!isSearchable(text)) {
+			return 0;
+		}
+		String needle = normalize(text);
+		int count = 0;
+		this.lock.readLock().lock();
+		try {
+			for (Integer id : candidates(needle)) {
+				OwnerSummary owner = this.owners.get(id);
+				if ((contains(owner.firstName(), needle) || contains(owner.lastName(), needle)
+						|| contains(owner.city(), needle)) && filter.test(owner)) {
+					count++;
+					if (top.size() < limit) {
+						top.add(owner);
+					}
+					else if (!top.isEmpty() && BY_NAME.compare(owner, top.peek()) < 0) {
+						top.poll();
+						top.add(owner);
+					}
+				}
+			}
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+		return count;
+	}
+
+	private static List<OwnerSummary> sorted(Collection<OwnerSummary> owners) {
+		List<OwnerSummary> sorted = new ArrayList<>(owners);
+		sorted.sort(BY_NAME);
+		return sorted;
+	}
+
+	private static boolean isAfter(OwnerSummary owner, String lastName, int id) {
+		int compared = Objects.requireNonNullElse(owner.lastName(), "").compareTo(lastName);
+		return compared > 0 || (compared == 0 && owner.id() > id);
+	}
+
+	/**
+	 * Return the ids of the owners holding every gram of the needle, starting from the
+	 * rarest gram. Matches still have to be verified, the grams may not be adjacent.
+	 */
+	private Collection<Integer> candidates(String needle) {
+		List<Set<Integer>> lists = new ArrayList<>();
+		for (String gram : grams(needle)) {
+			Set<Integer> ids = this.postings.get(gram);
+			if (ids == null) {
+				return Set.of();
+			}
+			lists.add(ids);
+		}
+		lists.sort(Comparator.comparingInt(Set::size));
+		List<Integer> candidates = new ArrayList<>(lists.get(0));
+		for (Set<Integer> ids : lists.subList(1, lists.size())) {
+			candidates.removeIf(id -> !ids.contains(id));
+		}
+		return candidates;
+	}
+
+	private void add(OwnerSummary owner) {
+		this.owners.put(owner.id(), owner);
+		for (String gram : grams(owner)) {
+			this.postings.computeIfAbsent(gram, key -> new HashSet<>()).add(owner.id());
+		}
+	}
+
+	private void remove(Integer id, @Nullable OwnerSummary previous) {
+		if (previous == null) {
+			return;
+		}
+		this.owners.remove(id);
+		for (String gram : grams(previous)) {
+			Set<Integer> ids = this.postings.get(gram);
+			if (ids != null && ids.remove(id) && ids.isEmpty()) {
+				this.postings.remove(gram);
+			}
+		}
+	}
+
+	private static Set<String> grams(OwnerSummary owner) {
+		Set<String> grams = new HashSet<>();
+		grams.addAll(grams(normalize(owner.firstName())));
+		grams.addAll(grams(normalize(owner.lastName())));
+		grams.addAll(grams(normalize(owner.city())));
+		return grams;
+	}
+
+	private static Set<String> grams(String value) {
+		Set<String> grams = new HashSet<>();
+		for (int i = 0; i + GRAM <= value.length(); i++) {
+			grams.add(value.substring(i, i + GRAM));
+		}
+		return grams;
+	}
+
+	private static boolean contains(@Nullable String value, String needle) {
+		return normalize(value).contains(needle);
+	}
+
+	private static String normalize(@Nullable String value) {
+		return (value != null) ? value.toLowerCase(Locale.ROOT) : "";
+	}
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.domain.search;
+
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.samples.petclinic.domain.repository.OwnerSummary;
+import org.springframework.samples.petclinic.formatting.persistance.owner.Owner;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener applying saved and removed {@link Owner}s to the
+ * {@link OwnerSearchIndex} once the surrounding transaction commits, so rolled back
+ * changes never become searchable. Does nothing when the index is not enabled.
+ * <p>
+ * Instantiated by Hibernate through the Spring bean container, which resolves the
+ * constructor argument.
+ * </p>
+ */
+public class OwnerSearchIndexListener {
+
+	private final ObjectProvider<OwnerSearchIndex> index;
+
+	public OwnerSearchIndexListener(ObjectProvider<OwnerSearchIndex> index) {
+		this.index = index;
+	}
+
+	@PostPersist
+	@PostUpdate
+	void saved(Owner owner) {
+		// capture the values now, the entity may change again before the commit
+		OwnerSummary summary = OwnerSearchIndex.summarize(owner);
+		afterCommit(index -> index.put(summary));
+	}
+
+	@PostRemove
+	void removed(Owner owner) {
+		Integer id = owner.getId();
+		afterCommit(index -> index.remove(id));
+	}
+
+	private void afterCommit(Consumer<OwnerSearchIndex> change) {
+		OwnerSearchIndex index = this.index.getIfAvailable();
+		if (index == null) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					change.accept(index);
+				}
+			});
+		}
+		else {
+			change.accept(index);
+		}
+	}
+
+}
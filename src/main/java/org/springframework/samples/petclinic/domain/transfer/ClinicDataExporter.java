@@ -0,0 +1,146 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.domain.transfer;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.samples.petclinic.domain.repository.OwnerRepository;
+import org.springframework.samples.petclinic.domain.repository.PetRepository;
+import org.springframework.samples.petclinic.domain.repository.VisitRepository;
+import org.springframework.samples.petclinic.formatting.persistance.model.PetType;
+import org.springframework.samples.petclinic.formatting.persistance.owner.Owner;
+import org.springframework.samples.petclinic.formatting.persistance.owner.Pet;
+import org.springframework.samples.petclinic.formatting.persistance.owner.Visit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+/**
+ * Exports all owners, pets and visits in the JSON-lines format read by
+ * {@link ClinicDataImporter}: first all owners, then all pets, then all visits, so that
+ * every ref points to a row written before it. Refs are the database ids prefixed with
+ * <code>o</code> or <code>p</code>.
+ * <p>
+ * Each table is read through a forward-only cursor in one read-only transaction, and the
+ * persistence context is cleared every {@link #CLEAR_EVERY} rows, so memory does not grow
+ * with the size of the data set.
+ * </p>
+ */
+@Component
+public class ClinicDataExporter {
+
+	/**
+	 * Number of rows after which the persistence context is cleared.
+	 */
+	static final int CLEAR_EVERY = 1000;
+
+	private final OwnerRepository owners;
+
+	private final PetRepository pets;
+
+	private final VisitRepository visits;
+
+	private final EntityManager entityManager;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final ObjectWriter writer;
+
+	public ClinicDataExporter(OwnerRepository owners, PetRepository pets, VisitRepository visits,
+			EntityManager entityManager, PlatformTransactionManager transactionManager, ObjectMapper mapper) {
+		this.owners = owners;
+		this.pets = pets;
+		this.visits = visits;
+		this.entityManager = entityManager;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+		this.writer = mapper.writerFor(ClinicRecord.class);
+	}
+
+	/**
+	 * Write all clinic data to the given output. The output is flushed but not closed.
+	 * @param output where to write the JSON lines
+	 */
+	public void export(OutputStream output) {
+		BufferedOutputStream buffered = new BufferedOutputStream(output);
+		this.transactionTemplate.executeWithoutResult(status -> {
+			try (Stream<Owner> owners = this.owners.streamAllBy()) {
+				write(owners, ClinicDataExporter::toRecord, buffered);
+			}
+			try (Stream<Pet> pets = this.pets.streamAllBy()) {
+				write(pets, ClinicDataExporter::toRecord, buffered);
+			}
+			try (Stream<Visit> visits = this.visits.streamAllBy()) {
+				write(visits, ClinicDataExporter::toRecord, buffered);
+			}
+		});
+		try {
+			buffered.flush();
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private <T> void write(Stream<T> rows, Function<T, ClinicRecord> toRecord, OutputStream output) {
+		int count = 0;
+		Iterator<T> iterator = rows.iterator();
+		try {
+			while (iterator.hasNext()) {
+				output.write(this.writer.writeValueAsBytes(toRecord.apply(iterator.next())));
+				output.write('\n');
+				if (++count % CLEAR_EVERY == 0) {
+					this.entityManager.clear();
+				}
+			}
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		this.entityManager.clear();
+	}
+
+	private static ClinicRecord toRecord(Owner owner) {
+		return new ClinicRecord(ClinicRecord.OWNER, "o" + owner.getId(), null, null, owner.getFirstName(),
+				owner.getLastName(), owner.getAddress(), owner.getCity(), owner.getTelephone(), null, null, null,
+				null, null);
+	}
+
+	private static ClinicRecord toRecord(Pet pet) {
+		Owner owner = pet.getOwner();
+		PetType type = pet.getType();
+		return new ClinicRecord(ClinicRecord.PET, "p" + pet.getId(), (owner != null) ? "o" + owner.getId() : null,
+				null, null, null, null, null, null, pet.getName(), pet.getBirthDate(),
+				(type != null) ? type.getName() : null, null, null);
+	}
+
+	private static ClinicRecord toRecord(Visit visit) {
+		Pet pet = visit.getPet();
+		return new ClinicRecord(ClinicRecord.VISIT, null, null, (pet != null) ? "p" + pet.getId() : null, null,
+				null, null, null, null, null, null, null, visit.getDate(), visit.getDescription());
+	}
+
+}
@@ -0,0 +1,351 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.domain.transfer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.dao.DataAccessException;
+import org.springframework.samples.petclinic.domain.reference.ReferenceDataRegistry;
+import org.springframework.samples.petclinic.formatting.persistance.model.PetType;
+import org.springframework.samples.petclinic.formatting.persistance.owner.Owner;
+import org.springframework.samples.petclinic.formatting.persistance.owner.Pet;
+import org.springframework.samples.petclinic.formatting.persistance.owner.Visit;
+import org.springframework.samples.petclinic.formatting.validation.PetValidator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.Validator;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Imports owners, pets and visits from the JSON-lines format described in
+ * {@link ClinicRecord}.
+ * <p>
+ * The input is read line by line and written in transactions of {@link #CHUNK_SIZE}
+ * rows, clearing the persistence context after each one, so memory does not grow with
+ * the number of visits. Only the ids of the imported owners and pets are kept, to
+ * resolve the refs of later rows. Rows are validated with the same rules as the owner,
+ * pet and visit forms; invalid rows, and owners or pets that reuse a ref, are skipped and
+ * reported.
+ * </p>
+ * <p>
+ * Rows are only counted, rejected ones included, and their refs only resolved, once their
+ * transaction has committed. If a transaction fails, its rows are rolled back and reported
+ * as one error, and the import stops there: the report then holds only the rows of the
+ * transactions that were committed before.
+ * </p>
+ */
+@Component
+public class ClinicDataImporter {
+
+	/**
+	 * Number of rows written per transaction.
+	 */
+	static final int CHUNK_SIZE = 1000;
+
+	/**
+	 * Number of rejected rows reported in detail; the others are only counted.
+	 */
+	public static final int MAX_REPORTED_ERRORS = 1000;
+
+	private final ObjectMapper mapper;
+
+	private final EntityManager entityManager;
+
+	private final ReferenceDataRegistry referenceData;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final SpringValidatorAdapter validator;
+
+	private final PetValidator petValidator = new PetValidator();
+
+	public ClinicDataImporter(ObjectMapper mapper, EntityManager entityManager, ReferenceDataRegistry referenceData,
+			PlatformTransactionManager transactionManager, Validator validator) {
+		this.mapper = mapper;
+		this.entityManager = entityManager;
+		this.referenceData = referenceData;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.validator = new SpringValidatorAdapter(validator);
+	}
+
+	/**
+	 * Import all rows of the given input.
+	 * @param input JSON-lines input, one {@link ClinicRecord} per line
+	 * @return the number of imported rows and the rejected ones
+	 */
+	public ImportReport importRecords(Reader input) {
+		// pet types are looked up once per import, not once per row
+		Map<String, Integer> petTypes = new HashMap<>();
+		for (PetType type : this.referenceData.getPetTypes()) {
+			petTypes.put(type.getName(), type.getId());
+		}
+		ImportState state = new ImportState(petTypes);
+		BufferedReader lines = new BufferedReader(input);
+		boolean more = true;
+		while (more) {
+			long firstLine = state.line + 1;
+			try {
+				more = Boolean.TRUE.equals(this.transactionTemplate.execute(status -> importChunk(lines, state)));
+			}
+			catch (DataAccessException | PersistenceException | TransactionException ex) {
+				state.rollback(firstLine, ex);
+				break;
+			}
+			state.commit();
+		}
+		return state.report();
+	}
+
+	private boolean importChunk(BufferedReader lines, ImportState state) {
+		try {
+			boolean more = true;
+			for (int i = 0; i < CHUNK_SIZE && more; i++) {
+				String line = lines.readLine();
+				if (line == null) {
+					more = false;
+				}
+				else {
+					state.line++;
+					if (!line.isBlank()) {
+						importLine(line, state);
+					}
+				}
+			}
+			this.entityManager.flush();
+			this.entityManager.clear();
+			return more;
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private void importLine(String line, ImportState state) {
+		ClinicRecord record;
+		try {
+			record = this.mapper.readValue(line, ClinicRecord.class);
+		}
+		catch (JacksonException ex) {
+			state.reject("unreadable row: " + ex.getOriginalMessage());
+			return;
+		}
+		switch (String.valueOf(record.type())) {
+			case ClinicRecord.OWNER -> importOwner(record, state);
+			case ClinicRecord.PET -> importPet(record, state);
+			case ClinicRecord.VISIT -> importVisit(record, state);
+			default -> state.reject("unknown type: " + record.type());
+		}
+	}
+
+	private void importOwner(ClinicRecord record, ImportState state) {
+		if (state.ownerId(record.ref()) != null) {
+			state.reject("duplicate owner ref: " + record.ref());
+			return;
+		}
+		Owner owner = new Owner();
+		owner.setFirstName(record.firstName());
+		owner.setLastName(record.lastName());
+		owner.setAddress(record.address());
+		owner.setCity(record.city());
+		owner.setTelephone(record.telephone());
+		Errors errors = this.validator.validateObject(owner);
+		if (errors.hasErrors()) {
+			state.reject(errors);
+			return;
+		}
+		this.entityManager.persist(owner);
+		if (record.ref() != null) {
+			state.chunkOwners.put(record.ref(), owner.getId());
+		}
+		state.chunkOwnerCount++;
+	}
+
+	private void importPet(ClinicRecord record, ImportState state) {
+		if (state.petId(record.ref()) != null) {
+			state.reject("duplicate pet ref: " + record.ref());
+			return;
+		}
+		Integer ownerId = state.ownerId(record.owner());
+		if (ownerId == null) {
+			state.reject("unknown owner: " + record.owner());
+			return;
+		}
+		Pet pet = new Pet();
+		pet.setName(record.name());
+		pet.setBirthDate(record.birthDate());
+		if (record.petType() != null) {
+			Integer typeId = state.petTypes.get(record.petType());
+			if (typeId == null) {
+				state.reject("unknown pet type: " + record.petType());
+				return;
+			}
+			pet.setType(this.entityManager.getReference(PetType.class, typeId));
+		}
+		Errors errors = this.petValidator.validateObject(pet);
+		if (pet.getBirthDate() != null && pet.getBirthDate().isAfter(LocalDate.now())) {
+			errors.rejectValue("birthDate", "typeMismatch.birthDate", "must not be in the future");
+		}
+		if (errors.hasErrors()) {
+			state.reject(errors);
+			return;
+		}
+		pet.setOwner(this.entityManager.getReference(Owner.class, ownerId));
+		this.entityManager.persist(pet);
+		if (record.ref() != null) {
+			state.chunkPets.put(record.ref(), pet.getId());
+		}
+		state.chunkPetCount++;
+	}
+
+	private void importVisit(ClinicRecord record, ImportState state) {
+		Integer petId = state.petId(record.pet());
+		if (petId == null) {
+			state.reject("unknown pet: " + record.pet());
+			return;
+		}
+		Visit visit = new Visit();
+		if (record.date() != null) {
+			visit.setDate(record.date());
+		}
+		visit.setDescription(record.description());
+		Errors errors = this.validator.validateObject(visit);
+		if (errors.hasErrors()) {
+			state.reject(errors);
+			return;
+		}
+		visit.setPet(this.entityManager.getReference(Pet.class, petId));
+		this.entityManager.persist(visit);
+		state.chunkVisitCount++;
+	}
+
+	/**
+	 * Progress of one import. The rows of the current transaction are kept apart until
+	 * it commits.
+	 */
+	private static final class ImportState {
+
+		private final Map<String, Integer> petTypes;
+
+		private final Map<String, Integer> owners = new HashMap<>();
+
+		private final Map<String, Integer> pets = new HashMap<>();
+
+		private final Map<String, Integer> chunkOwners = new HashMap<>();
+
+		private final Map<String, Integer> chunkPets = new HashMap<>();
+
+		private final List<ImportReport.RowError> errors = new ArrayList<>();
+
+		private final List<ImportReport.RowError> chunkErrors = new ArrayList<>();
+
+		private long line;
+
+		private long ownerCount;
+
+		private long petCount;
+
+		private long visitCount;
+
+		private long rejected;
+
+		private long chunkOwnerCount;
+
+		private long chunkPetCount;
+
+		private long chunkVisitCount;
+
+		private long chunkRejected;
+
+		ImportState(Map<String, Integer> petTypes) {
+			this.petTypes = petTypes;
+		}
+
+		@Nullable Integer ownerId(@Nullable String ref) {
+			return (ref != null) ? this.chunkOwners.getOrDefault(ref, this.owners.get(ref)) : null;
+		}
+
+		@Nullable Integer petId(@Nullable String ref) {
+			return (ref != null) ? this.chunkPets.getOrDefault(ref, this.pets.get(ref)) : null;
+		}
+
+		void commit() {
+			this.owners.putAll(this.chunkOwners);
+			this.pets.putAll(this.chunkPets);
+			this.ownerCount += this.chunkOwnerCount;
+			this.petCount += this.chunkPetCount;
+			this.visitCount += this.chunkVisitCount;
+			this.rejected += this.chunkRejected;
+			this.errors.addAll(this.chunkErrors);
+			discardChunk();
+		}
+
+		void rollback(long firstLine, RuntimeException ex) {
+			// the rows rejected in this chunk are covered by the error of the rollback
+			discardChunk();
+			this.errors.add(new ImportReport.RowError(firstLine,
+					"rows " + firstLine + " to " + this.line + " rolled back, import stopped: " + ex.getMessage()));
+		}
+
+		private void discardChunk() {
+			this.chunkOwners.clear();
+			this.chunkPets.clear();
+			this.chunkOwnerCount = 0;
+			this.chunkPetCount = 0;
+			this.chunkVisitCount = 0;
+			this.chunkRejected = 0;
+			this.chunkErrors.clear();
+		}
+
+		void reject(Errors errors) {
+			reject(errors.getFieldErrors()
+				.stream()
+				.map(error -> error.getField() + ": " + error.getDefaultMessage())
+				.collect(Collectors.joining(", ")));
+		}
+
+		void reject(String message) {
+			this.chunkRejected++;
+			if (this.errors.size() + this.chunkErrors.size() < MAX_REPORTED_ERRORS) {
+				this.chunkErrors.add(new ImportReport.RowError(this.line, message));
+			}
+		}
+
+		ImportReport report() {
+			return new ImportReport(this.ownerCount, this.petCount, this.visitCount, this.rejected,
+					List.copyOf(this.errors));
+		}
+
+	}
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.domain.transfer;
+
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * One line of the JSON-lines format used to import and export clinic data. The
+ * <code>type</code> tells which fields apply:
+ * <ul>
+ * <li><code>owner</code>: <code>ref</code>, <code>firstName</code>,
+ * <code>lastName</code>, <code>address</code>, <code>city</code>,
+ * <code>telephone</code></li>
+ * <li><code>pet</code>: <code>ref</code>, <code>owner</code> (the ref of an owner
+ * above), <code>name</code>, <code>birthDate</code>, <code>petType</code></li>
+ * <li><code>visit</code>: <code>pet</code> (the ref of a pet above), <code>date</code>,
+ * <code>description</code></li>
+ * </ul>
+ * Refs are only meaningful within one file, so an owner or pet has to come before the
+ * rows referring to it.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ClinicRecord(String type, @Nullable String ref, @Nullable String owner, @Nullable String pet,
+		@Nullable String firstName, @Nullable String lastName, @Nullable String address, @Nullable String city,
+		@Nullable String telephone, @Nullable String name, @Nullable LocalDate birthDate, @Nullable String petType,
+		@Nullable LocalDate date, @Nullable String description) {
+
+	public static final String OWNER = "owner";
+
+	public static final String PET = "pet";
+
+	public static final String VISIT = "visit";
+
+}
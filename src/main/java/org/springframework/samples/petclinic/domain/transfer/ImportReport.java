@@ -0,0 +1,42 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.domain.transfer;
+
+import java.util.List;
+
+/**
+ * Outcome of an import: how many rows were written, and why the others were rejected.
+ * Only committed rows are counted; a failed transaction is reported as one error
+ * covering the rows it rolled back.
+ *
+ * @param owners number of owners imported
+ * @param pets number of pets imported
+ * @param visits number of visits imported
+ * @param rejected number of rejected rows
+ * @param errors the first {@link ClinicDataImporter#MAX_REPORTED_ERRORS} rejected rows
+ */
+public record ImportReport(long owners, long pets, long visits, long rejected, List<RowError> errors) {
+
+	/**
+	 * A rejected row, or the first row of a transaction that was rolled back.
+	 *
+	 * @param line the line number in the uploaded file, starting at 1
+	 * @param message why the row was rejected
+	 */
+	public record RowError(long line, String message) {
+	}
+
+}
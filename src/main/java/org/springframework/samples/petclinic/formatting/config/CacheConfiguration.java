@@ -13,41 +13,92 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.springframework.samples.petclinic.formatting.config;
 
-import org.springframework.boot.cache.autoconfigure.JCacheManagerCustomizer;
+import java.util.Collection;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+import org.springframework.samples.petclinic.formatting.config.CacheProperties.Policy;
 
-import javax.cache.configuration.MutableConfiguration;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 /**
- * Cache configuration intended for caches providing the JCache API. This configuration
- * creates the used cache for the application and enables statistics that become
- * accessible via JMX.
+ * Caffeine caches of the application, each bounded and expired according to its
+ * {@link CacheProperties.Policy}.
+ * <p>
+ * Every configured cache is created at startup, so that Actuator publishes its metrics
+ * (<code>cache.gets</code>, <code>cache.evictions</code>, <code>cache.load.duration</code>,
+ * ...) from the start. There is no refresh-after-write: the caches are filled through
+ * {@code @Cacheable}, which has no loader Caffeine could call to refresh an entry. Every
+ * lookup is reported to Java Flight Recorder, see {@link EventRecordingCaffeineCache}.
+ * <p>
+ * Only the vets are cached here. Pet types are served from the
+ * <code>ReferenceDataRegistry</code>, which holds all of them and reloads them whenever
+ * one is written, so a bounded and expiring cache in front of it could only miss. Owners
+ * are not cached across requests: they are edited through the very aggregates that
+ * would be shared, and their <code>version</code> must come from the database for the
+ * optimistic lock to hold. Within a request, an owner is loaded once by the
+ * <code>OwnerIdentityMap</code>.
  */
 @Configuration(proxyBeanMethods = false)
 @EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
 class CacheConfiguration {
 
 	@Bean
-	public JCacheManagerCustomizer petclinicCacheConfigurationCustomizer() {
-		return cm -> cm.createCache("vets", cacheConfiguration());
+	public CaffeineCacheManager cacheManager(CacheProperties properties) {
+		CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+
+			@Override
+			protected Cache adaptCaffeineCache(String name,
+					com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+				return new EventRecordingCaffeineCache(name, cache, isAllowNullValues());
+			}
+
+		};
+		cacheManager.setCaffeine(caffeine(properties.getDefaults()));
+		properties.getPolicies()
+			.forEach((name, policy) -> cacheManager.registerCustomCache(name, caffeine(policy).build()));
+		return cacheManager;
+	}
+
+	private static Caffeine<Object, Object> caffeine(Policy policy) {
+		Caffeine<Object, Object> caffeine = Caffeine.newBuilder();
+		if (policy.getMaximumWeight() != null) {
+			caffeine.maximumWeight(policy.getMaximumWeight()).weigher(CacheConfiguration::weigh);
+		}
+		else if (policy.getMaximumSize() != null) {
+			caffeine.maximumSize(policy.getMaximumSize());
+		}
+		if (policy.getExpireAfterWrite() != null) {
+			caffeine.expireAfterWrite(policy.getExpireAfterWrite());
+		}
+		if (policy.getExpireAfterAccess() != null) {
+			caffeine.expireAfterAccess(policy.getExpireAfterAccess());
+		}
+		if (policy.isRecordStats()) {
+			caffeine.recordStats();
+		}
+		return caffeine;
 	}
 
 	/**
-	 * Create a simple configuration that enable statistics via the JCache programmatic
-	 * configuration API.
-	 * <p>
-	 * Within the configuration object that is provided by the JCache API standard, there
-	 * is only a very limited set of configuration options. The really relevant
-	 * configuration options (like the size limit) must be set via a configuration
-	 * mechanism that is provided by the selected JCache implementation.
+	 * Weigh an entry by the number of elements it holds, as a stand-in for its memory.
 	 */
-	private javax.cache.configuration.Configuration<Object, Object> cacheConfiguration() {
-		return new MutableConfiguration<>().setStatisticsEnabled(true);
+	private static int weigh(Object key, Object value) {
+		if (value instanceof Slice<?> slice) {
+			return Math.max(1, slice.getNumberOfElements());
+		}
+		if (value instanceof Collection<?> collection) {
+			return Math.max(1, collection.size());
+		}
+		return 1;
 	}
 
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A lookup in one of the application caches, see {@link EventRecordingCaffeineCache}.
+ */
+@Name("org.springframework.samples.petclinic.CacheLookup")
+@Label("Cache Lookup")
+@Category({ "PetClinic", "Cache" })
+@Description("A lookup in an application cache, a hit or a miss")
+@StackTrace(false)
+final class CacheLookupEvent extends Event {
+
+	@Label("Cache")
+	String cache;
+
+	@Label("Key")
+	String key;
+
+	@Label("Hit")
+	boolean hit;
+
+	@Label("Route")
+	String route;
+
+}
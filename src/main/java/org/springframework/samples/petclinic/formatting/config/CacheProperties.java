@@ -0,0 +1,123 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Policies of the application caches, bound from <code>petclinic.cache</code>. Each
+ * entry of <code>policies</code> configures the cache of the same name, caches without
+ * an entry use <code>defaults</code>.
+ */
+@ConfigurationProperties("petclinic.cache")
+class CacheProperties {
+
+	private final Map<String, Policy> policies = new LinkedHashMap<>();
+
+	private Policy defaults = new Policy();
+
+	public Map<String, Policy> getPolicies() {
+		return this.policies;
+	}
+
+	public Policy getDefaults() {
+		return this.defaults;
+	}
+
+	public void setDefaults(Policy defaults) {
+		this.defaults = defaults;
+	}
+
+	/**
+	 * Bounds and expiry of a single cache.
+	 */
+	public static class Policy {
+
+		/**
+		 * Maximum number of entries.
+		 */
+		private @Nullable Long maximumSize;
+
+		/**
+		 * Maximum total weight of the entries, where a collection or page weighs as much
+		 * as the number of elements it holds. Takes precedence over the maximum size.
+		 */
+		private @Nullable Long maximumWeight;
+
+		/**
+		 * Time after which an entry is dropped once written.
+		 */
+		private @Nullable Duration expireAfterWrite;
+
+		/**
+		 * Time after which an entry is dropped once last read or written.
+		 */
+		private @Nullable Duration expireAfterAccess;
+
+		/**
+		 * Whether to record hit, miss, load and eviction statistics for the metrics.
+		 */
+		private boolean recordStats = true;
+
+		public @Nullable Long getMaximumSize() {
+			return this.maximumSize;
+		}
+
+		public void setMaximumSize(@Nullable Long maximumSize) {
+			this.maximumSize = maximumSize;
+		}
+
+		public @Nullable Long getMaximumWeight() {
+			return this.maximumWeight;
+		}
+
+		public void setMaximumWeight(@Nullable Long maximumWeight) {
+			this.maximumWeight = maximumWeight;
+		}
+
+		public @Nullable Duration getExpireAfterWrite() {
+			return this.expireAfterWrite;
+		}
+
+		public void setExpireAfterWrite(@Nullable Duration expireAfterWrite) {
+			this.expireAfterWrite = expireAfterWrite;
+		}
+
+		public @Nullable Duration getExpireAfterAccess() {
+			return this.expireAfterAccess;
+		}
+
+		public void setExpireAfterAccess(@Nullable Duration expireAfterAccess) {
+			this.expireAfterAccess = expireAfterAccess;
+		}
+
+		public boolean isRecordStats() {
+			return this.recordStats;
+		}
+
+		public void setRecordStats(boolean recordStats) {
+			this.recordStats = recordStats;
+		}
+
+	}
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.samples.petclinic.domain.reference.ReferenceDataRegistry;
+import org.springframework.samples.petclinic.domain.repository.OwnerRepository;
+import org.springframework.samples.petclinic.domain.repository.Revision;
+import org.springframework.samples.petclinic.domain.repository.VetRepository;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Answers conditional <code>GET</code>s of the owner details and vet pages with
+ * <code>304 Not Modified</code> while the {@link Revision} of the rows they show, and the
+ * revision of the pet types and specialties whose names they show, are unchanged. It runs
+ * before the handler, so a repeat view costs one aggregate query instead of loading the
+ * owner and rendering the template or serializing the vets. Otherwise the handler runs
+ * as usual and the response carries the strong <code>ETag</code> for the next request.
+ * <p>
+ * No <code>Last-Modified</code> header is sent: HTTP dates only have a precision of one
+ * second, and renamed reference data has no modification time at all, so a client
+ * revalidating with <code>If-Modified-Since</code> could be told that a changed page was
+ * not modified.
+ * </p>
+ * <p>
+ * The vet list and pages are cached, see {@link CacheConfiguration}. When the revision of
+ * the vets or of the reference data changes, those caches are cleared before the handler
+ * runs, so the new <code>ETag</code> is never sent with a body cached before the change.
+ * </p>
+ */
+class ConditionalGetInterceptor implements HandlerInterceptor {
+
+	private final ObjectProvider<OwnerRepository> owners;
+
+	private final ObjectProvider<VetRepository> vets;
+
+	private final ObjectProvider<ReferenceDataRegistry> referenceData;
+
+	private final ObjectProvider<CacheManager> cacheManager;
+
+	private final AtomicReference<@Nullable String> vetsRevision = new AtomicReference<>();
+
+	ConditionalGetInterceptor(ObjectProvider<OwnerRepository> owners, ObjectProvider<VetRepository> vets,
+			ObjectProvider<ReferenceDataRegistry> referenceData, ObjectProvider<CacheManager> cacheManager) {
+		this.owners = owners;
+		this.vets = vets;
+		this.referenceData = referenceData;
+		this.cacheManager = cacheManager;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+			return true;
+		}
+		// a page showing a flash message after a redirect differs from the page the
+		// client may have cached, even though the rows are the same
+		Map<String, ?> flash = RequestContextUtils.getInputFlashMap(request);
+		if (flash != null && !flash.isEmpty()) {
+			return true;
+		}
+		Revision revision = findRevision(request);
+		if (revision == null) {
+			return true;
+		}
+		ServletWebRequest webRequest = new ServletWebRequest(request, response);
+		return !webRequest.checkNotModified(etag(revision, request));
+	}
+
+	private @Nullable Revision findRevision(HttpServletRequest request) {
+		String pattern = String.valueOf(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+		return switch (pattern) {
+			case "/owners/{ownerId}" -> findOwnerRevision(request);
+			case "/vets", "/vets.html" -> findVetsRevision();
+			default -> null;
+		};
+	}
+
+	private @Nullable Revision findVetsRevision() {
+		Revision revision = Optional.ofNullable(this.vets.getIfAvailable())
+			.map(VetRepository::findRevision)
+			.orElse(null);
+		if (revision != null) {
+			String current = revision + "|" + referenceDataRevision();
+			String previous = this.vetsRevision.getAndSet(current);
+			if (previous != null && !previous.equals(current)) {
+				evict("vets");
+				evict("vetPages");
+			}
+		}
+		return revision;
+	}
+
+	private void evict(String name) {
+		CacheManager cacheManager = this.cacheManager.getIfAvailable();
+		Cache cache = (cacheManager != null) ? cacheManager.getCache(name) : null;
+		if (cache != null) {
+			cache.clear();
+		}
+	}
+
+	private @Nullable Revision findOwnerRevision(HttpServletRequest request) {
+		OwnerRepository repository = this.owners.getIfAvailable();
+		@SuppressWarnings("unchecked")
+		Map<String, String> variables = (Map<String, String>) request
+			.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+		if (repository == null || variables == null) {
+			return null;
+		}
+		try {
+			return repository.findRevisionById(Integer.valueOf(variables.get("ownerId"))).orElse(null);
+		}
+		catch (NumberFormatException ex) {
+			// left to the handler, which rejects the id
+			return null;
+		}
+	}
+
+	/**
+	 * The same rows render differently per locale, and <code>/vets</code> per media
+	 * type, so both are part of the tag next to the {@link Revision} and the revision of
+	 * the reference data.
+	 */
+	private String etag(Revision revision, HttpServletRequest request) {
+		String variant = revision + "|" + referenceDataRevision() + "|" + RequestContextUtils.getLocale(request) + "|"
+				+ request.getHeader(HttpHeaders.ACCEPT);
+		return DigestUtils.md5DigestAsHex(variant.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private String referenceDataRevision() {
+		ReferenceDataRegistry referenceData = this.referenceData.getIfAvailable();
+		return (referenceData != null) ? referenceData.getRevision() : "";
+	}
+
+}
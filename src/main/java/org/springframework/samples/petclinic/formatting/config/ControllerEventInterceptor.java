@@ -0,0 +1,87 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Emits a {@link ControllerInvocationEvent} for every request handled by a controller
+ * while a flight recording is running. A request that continues asynchronously is one
+ * event, committed when its last dispatch completes.
+ */
+class ControllerEventInterceptor implements HandlerInterceptor {
+
+	private static final String EVENT_ATTRIBUTE = ControllerEventInterceptor.class.getName() + ".event";
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (handler instanceof HandlerMethod && request.getAttribute(EVENT_ATTRIBUTE) == null) {
+			ControllerInvocationEvent event = new ControllerInvocationEvent();
+			if (event.isEnabled()) {
+				event.begin();
+				request.setAttribute(EVENT_ATTRIBUTE, event);
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			@Nullable Exception ex) {
+		if (request.getAttribute(EVENT_ATTRIBUTE) instanceof ControllerInvocationEvent event) {
+			request.removeAttribute(EVENT_ATTRIBUTE);
+			event.end();
+			if (event.shouldCommit()) {
+				String route = RequestRoute.of(request);
+				event.route = route;
+				if (handler instanceof HandlerMethod handlerMethod) {
+					event.handler = handlerMethod.getBeanType().getSimpleName() + "."
+							+ handlerMethod.getMethod().getName();
+				}
+				event.entityId = entityId(request, route);
+				event.status = response.getStatus();
+				event.commit();
+			}
+		}
+	}
+
+	private static @Nullable String entityId(HttpServletRequest request, @Nullable String route) {
+		if (route == null
+				|| !(request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables)) {
+			return null;
+		}
+		String entityId = null;
+		int position = -1;
+		for (Map.Entry<?, ?> variable : variables.entrySet()) {
+			String name = variable.getKey().toString();
+			int index = route.indexOf("{" + name + "}");
+			if (name.endsWith("Id") && index > position) {
+				entityId = String.valueOf(variable.getValue());
+				position = index;
+			}
+		}
+		return entityId;
+	}
+
+}
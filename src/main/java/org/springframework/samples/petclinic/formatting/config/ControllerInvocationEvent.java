@@ -0,0 +1,49 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A request handled by a controller, from before the first interceptor to after the view
+ * was rendered, see {@link ControllerEventInterceptor}.
+ */
+@Name("org.springframework.samples.petclinic.ControllerInvocation")
+@Label("Controller Invocation")
+@Category({ "PetClinic", "Web" })
+@Description("A request handled by a controller")
+@StackTrace(false)
+final class ControllerInvocationEvent extends Event {
+
+	@Label("Route")
+	String route;
+
+	@Label("Handler")
+	String handler;
+
+	@Label("Entity Id")
+	@Description("The last id in the route, for example the pet of /owners/{ownerId}/pets/{petId}")
+	String entityId;
+
+	@Label("Status")
+	int status;
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import java.util.concurrent.Callable;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+/**
+ * A {@link CaffeineCache} that emits a {@link CacheLookupEvent} for every lookup while a
+ * flight recording is running. A lookup through <code>@Cacheable</code> only times the
+ * lookup itself; with <code>sync = true</code> a miss includes loading the value.
+ * <p>
+ * Still a {@link CaffeineCache}, so that Actuator publishes its metrics.
+ * </p>
+ */
+class EventRecordingCaffeineCache extends CaffeineCache {
+
+	EventRecordingCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+		super(name, cache, allowNullValues);
+	}
+
+	@Override
+	protected @Nullable Object lookup(Object key) {
+		CacheLookupEvent event = new CacheLookupEvent();
+		event.begin();
+		Object value = super.lookup(key);
+		if (event.shouldCommit()) {
+			event.hit = value != null;
+			commit(event, key);
+		}
+		return value;
+	}
+
+	@Override
+	public <T> @Nullable T get(Object key, Callable<T> valueLoader) {
+		CacheLookupEvent event = new CacheLookupEvent();
+		event.hit = true;
+		event.begin();
+		T value = super.get(key, () -> {
+			event.hit = false;
+			return valueLoader.call();
+		});
+		if (event.shouldCommit()) {
+			commit(event, key);
+		}
+		return value;
+	}
+
+	private void commit(CacheLookupEvent event, Object key) {
+		event.cache = getName();
+		event.key = key.toString();
+		event.route = RequestRoute.current();
+		event.commit();
+	}
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Publishes the {@link FlightRecorderEndpoint} at <code>/actuator/jfr</code> when
+ * <code>petclinic.jfr.enabled=true</code>. The PetClinic events themselves are emitted
+ * regardless, and cost next to nothing while no recording is running.
+ * <p>
+ * The endpoint is off by default. Anyone who can reach it can start recordings and
+ * download them, with stack traces, routes and entity ids, and every actuator endpoint
+ * is exposed over HTTP without authentication. Only enable it once the actuator is
+ * secured, for example on a <code>management.server.port</code> that is not reachable
+ * from outside, or behind Spring Security.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "petclinic.jfr.enabled", havingValue = "true")
+class FlightRecorderConfiguration {
+
+	@Bean
+	FlightRecorderEndpoint flightRecorderEndpoint(@Value("${petclinic.jfr.max-size:250MB}") DataSize maxSize) {
+		return new FlightRecorderEndpoint(maxSize);
+	}
+
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Actuator endpoint that runs a Java Flight Recorder recording, so that a profile can be
+ * captured without shell access to the host:
+ * <ul>
+ * <li><code>POST /actuator/jfr</code> starts a recording, replacing the previous one,
+ * with the JFR <code>settings</code> (<code>profile</code> unless given) and an optional
+ * <code>duration</code> after which it stops;</li>
+ * <li><code>GET /actuator/jfr</code> describes the recording;</li>
+ * <li><code>DELETE /actuator/jfr</code> stops it;</li>
+ * <li><code>GET /actuator/jfr/{id}</code> downloads what was recorded so far, for
+ * example for JDK Mission Control or <code>jfr print</code>.</li>
+ * </ul>
+ * Besides the JVM events of the settings, the recording holds the PetClinic events:
+ * {@link ControllerInvocationEvent}, {@link RepositoryCallEvent} and
+ * {@link CacheLookupEvent}. Recordings are kept on disk up to the configured size.
+ * <p>
+ * A download copies the whole recording to a temporary file. The copy is made outside
+ * the lock of the endpoint, so that it does not hold up the other operations.
+ * </p>
+ */
+@WebEndpoint(id = "jfr")
+public class FlightRecorderEndpoint implements DisposableBean {
+
+	private static final String DEFAULT_SETTINGS = "profile";
+
+	private final DataSize maxSize;
+
+	private @Nullable Recording recording;
+
+	private @Nullable String settings;
+
+	FlightRecorderEndpoint(DataSize maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	@ReadOperation
+	public synchronized WebEndpointResponse<RecordingDescription> recording() {
+		Recording recording = this.recording;
+		if (recording == null) {
+			return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+		}
+		return new WebEndpointResponse<>(describe(recording));
+	}
+
+	@WriteOperation
+	public synchronized RecordingDescription start(@Nullable String settings, @Nullable Duration duration) {
+		String name = (settings != null) ? settings : DEFAULT_SETTINGS;
+		Configuration configuration;
+		try {
+			configuration = Configuration.getConfiguration(name);
+		}
+		catch (NoSuchFileException ex) {
+			throw new InvalidEndpointRequestException("Unknown JFR settings '" + name + "'", "Unknown settings");
+		}
+		catch (IOException | ParseException ex) {
+			throw new IllegalStateException("Could not read JFR settings '" + name + "'", ex);
+		}
+		destroy();
+		Recording recording = new Recording(configuration);
+		recording.setName("petclinic");
+		recording.setToDisk(true);
+		recording.setMaxSize(this.maxSize.toBytes());
+		if (duration != null) {
+			recording.setDuration(duration);
+		}
+		recording.enable(ControllerInvocationEvent.class);
+		recording.enable(RepositoryCallEvent.class);
+		recording.enable(CacheLookupEvent.class);
+		recording.start();
+		this.recording = recording;
+		this.settings = name;
+		return describe(recording);
+	}
+
+	@DeleteOperation
+	public synchronized WebEndpointResponse<RecordingDescription> stop() {
+		Recording recording = this.recording;
+		if (recording == null) {
+			return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+		}
+		if (recording.getState() == RecordingState.RUNNING) {
+			recording.stop();
+		}
+		return new WebEndpointResponse<>(describe(recording));
+	}
+
+	@ReadOperation(produces = "application/octet-stream")
+	public WebEndpointResponse<Resource> download(@Selector long id) throws IOException {
+		Recording recording = recording(id);
+		if (recording == null) {
+			return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+		}
+		Path file = Files.createTempFile("petclinic-", ".jfr");
+		try {
+			recording.dump(file);
+		}
+		catch (IOException ex) {
+			Files.deleteIfExists(file);
+			if (recording(id) == null) {
+				// closed by a new recording or on shutdown while it was being copied
+				return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+			}
+			throw ex;
+		}
+		return new WebEndpointResponse<>(new FileSystemResource(file) {
+
+			@Override
+			public InputStream getInputStream() throws IOException {
+				return Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE);
+			}
+
+		});
+	}
+
+	@Override
+	public synchronized void destroy() {
+		Recording recording = this.recording;
+		if (recording != null) {
+			this.recording = null;
+			recording.close();
+		}
+	}
+
+	private synchronized @Nullable Recording recording(long id) {
+		Recording recording = this.recording;
+		return (recording != null && recording.getId() == id) ? recording : null;
+	}
+
+	private RecordingDescription describe(Recording recording) {
+		return new RecordingDescription(recording.getId(), recording.getState().name(), this.settings,
+				recording.getStartTime(), recording.getStopTime(), recording.getDuration(), recording.getSize());
+	}
+
+	/**
+	 * The state of the recording.
+	 *
+	 * @param id the id to download the recording with
+	 * @param state the JFR state: <code>RUNNING</code> or <code>STOPPED</code>
+	 * @param settings the JFR settings the recording was started with
+	 * @param started when the recording started
+	 * @param stopped when the recording stopped, or is due to stop
+	 * @param duration the duration the recording was started with, if any
+	 * @param size the bytes recorded so far
+	 */
+	public record RecordingDescription(long id, String state, @Nullable String settings, @Nullable Instant started,
+			@Nullable Instant stopped, @Nullable Duration duration, long size) {
+	}
+
+}
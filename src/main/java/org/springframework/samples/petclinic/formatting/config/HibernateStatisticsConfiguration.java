@@ -0,0 +1,50 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Publishes the Hibernate statistics of each request at
+ * <code>/actuator/hibernatestatistics</code> when
+ * <code>petclinic.hibernate-statistics.enabled=true</code>. The Hibernate side is wired
+ * in <code>application.properties</code>, so that it also applies to the JPA test
+ * slices.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "petclinic.hibernate-statistics.enabled", havingValue = "true")
+class HibernateStatisticsConfiguration {
+
+	@Bean
+	HibernateStatisticsEndpoint hibernateStatisticsEndpoint(
+			@Value("${petclinic.hibernate-statistics.requests:200}") int requests) {
+		return new HibernateStatisticsEndpoint(requests);
+	}
+
+	@Bean
+	FilterRegistrationBean<HibernateStatisticsFilter> hibernateStatisticsFilter(HibernateStatisticsEndpoint endpoint) {
+		FilterRegistrationBean<HibernateStatisticsFilter> registration = new FilterRegistrationBean<>(
+				new HibernateStatisticsFilter(endpoint));
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 110);
+		return registration;
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint with the Hibernate statistics of the most recent requests, see
+ * {@link HibernateStatisticsFilter}, and a summary per route over the same requests,
+ * sorted by the most statements a single request of the route issued.
+ */
+@Endpoint(id = "hibernatestatistics")
+public class HibernateStatisticsEndpoint {
+
+	private final int capacity;
+
+	private final Deque<RequestStatistics> requests = new ArrayDeque<>();
+
+	private long sequence;
+
+	HibernateStatisticsEndpoint(int capacity) {
+		this.capacity = capacity;
+	}
+
+	synchronized void record(String method, String route, int status, HibernateWorkStatistics statistics) {
+		if (this.requests.size() == this.capacity) {
+			this.requests.removeFirst();
+		}
+		this.requests.addLast(new RequestStatistics(++this.sequence, Instant.now(), method, route, status,
+				statistics.getStatements(), statistics.getEntityLoads(), statistics.getEntityFetches(),
+				statistics.getCollectionLoads(), statistics.getCollectionFetches(), statistics.getFlushes(),
+				statistics.getFlushNanos() / 1e6));
+	}
+
+	@ReadOperation
+	public Report report() {
+		List<RequestStatistics> requests = getRequests();
+		Map<String, RouteStatistics> routes = new LinkedHashMap<>();
+		for (RequestStatistics request : requests) {
+			routes.merge(request.method() + " " + request.route(), RouteStatistics.of(request), RouteStatistics::plus);
+		}
+		List<RouteStatistics> summary = new ArrayList<>(routes.values());
+		summary.sort(Comparator.comparingLong(RouteStatistics::maxStatements).reversed());
+		return new Report(summary, requests);
+	}
+
+	@DeleteOperation
+	public synchronized void clear() {
+		this.requests.clear();
+	}
+
+	/**
+	 * Return the statistics of the most recent requests, oldest first.
+	 */
+	public synchronized List<RequestStatistics> getRequests() {
+		return List.copyOf(this.requests);
+	}
+
+	/**
+	 * The Hibernate statistics of a request, see {@link HibernateWorkStatistics}.
+	 *
+	 * @param sequence the number of the request, increasing
+	 * @param completed when the request completed
+	 * @param method the HTTP method
+	 * @param route the route template, for example <code>/owners/{ownerId}</code>
+	 * @param status the response status
+	 * @param statements the JDBC statements prepared
+	 * @param entityLoads the entities loaded
+	 * @param entityFetches the entities fetched with a select of their own
+	 * @param collectionLoads the collections loaded
+	 * @param collectionFetches the collections fetched with a select of their own
+	 * @param flushes the flushes
+	 * @param flushMillis the time spent flushing
+	 */
+	public record RequestStatistics(long sequence, Instant completed, String method, String route, int status,
+			long statements, long entityLoads, long entityFetches, long collectionLoads, long collectionFetches,
+			long flushes, double flushMillis) {
+	}
+
+	/**
+	 * The statistics of the recent requests to one route.
+	 *
+	 * @param route the HTTP method and the route template
+	 * @param requests the requests
+	 * @param statements the JDBC statements of all requests
+	 * @param maxStatements the most JDBC statements of a single request
+	 * @param maxCollectionFetches the most separately fetched collections of a single
+	 * request
+	 * @param flushMillis the time all requests spent flushing
+	 */
+	public record RouteStatistics(String route, long requests, long statements, long maxStatements,
+			long maxCollectionFetches, double flushMillis) {
+
+		static RouteStatistics of(RequestStatistics request) {
+			return new RouteStatistics(request.method() + " " + request.route(), 1, request.statements(),
+					request.statements(), request.collectionFetches(), request.flushMillis());
+		}
+
+		RouteStatistics plus(RouteStatistics other) {
+			return new RouteStatistics(this.route, this.requests + other.requests, this.statements + other.statements,
+					Math.max(this.maxStatements, other.maxStatements),
+					Math.max(this.maxCollectionFetches, other.maxCollectionFetches),
+					this.flushMillis + other.flushMillis);
+		}
+
+	}
+
+	/**
+	 * The response of the endpoint.
+	 *
+	 * @param routes the summary per route
+	 * @param requests the recent requests, oldest first
+	 */
+	public record Report(List<RouteStatistics> routes, List<RequestStatistics> requests) {
+	}
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records the {@link HibernateWorkStatistics} of every request, including the work of
+ * interceptors and of the view, and hands them to the {@link HibernateStatisticsEndpoint}
+ * under the route template. Requests that continue asynchronously are not recorded, as
+ * their work is done on other threads.
+ */
+class HibernateStatisticsFilter extends OncePerRequestFilter {
+
+	private final HibernateStatisticsEndpoint endpoint;
+
+	HibernateStatisticsFilter(HibernateStatisticsEndpoint endpoint) {
+		this.endpoint = endpoint;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		HibernateWorkStatistics statistics = HibernateWorkStatistics.start();
+		try {
+			chain.doFilter(request, response);
+		}
+		finally {
+			statistics.stop();
+			if (!isAsyncStarted(request)) {
+				Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+				this.endpoint.record(request.getMethod(), (route != null) ? route.toString() : "UNKNOWN",
+						response.getStatus(), statistics);
+			}
+		}
+	}
+
+}
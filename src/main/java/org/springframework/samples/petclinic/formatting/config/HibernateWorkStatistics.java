@@ -0,0 +1,198 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * What Hibernate did on the current thread while a unit of work, typically a request,
+ * was recorded: the JDBC statements prepared, the entities and collections loaded and
+ * the flushes with the time they took.
+ * <p>
+ * Recordings are bound to the thread with {@link #start()} and {@link #stop()} and may
+ * be nested; each counts everything done while it is active, including during nested
+ * ones. They are fed by {@link HibernateWorkStatisticsFactory} and
+ * {@link HibernateWorkStatisticsListener} when
+ * <code>petclinic.hibernate-statistics.enabled</code> is set.
+ * </p>
+ */
+public final class HibernateWorkStatistics {
+
+	private static final ThreadLocal<HibernateWorkStatistics> current = new ThreadLocal<>();
+
+	private static volatile boolean collecting;
+
+	private final @Nullable HibernateWorkStatistics parent;
+
+	private long statements;
+
+	private long entityLoads;
+
+	private long entityFetches;
+
+	private long collectionLoads;
+
+	private long collectionFetches;
+
+	private long flushes;
+
+	private long flushNanos;
+
+	private HibernateWorkStatistics(@Nullable HibernateWorkStatistics parent) {
+		this.parent = parent;
+	}
+
+	/**
+	 * Start recording on the current thread.
+	 * @return the new recording
+	 */
+	public static HibernateWorkStatistics start() {
+		HibernateWorkStatistics statistics = new HibernateWorkStatistics(current.get());
+		current.set(statistics);
+		return statistics;
+	}
+
+	/**
+	 * Stop the recording started last on the current thread and resume the enclosing one,
+	 * if any.
+	 */
+	public void stop() {
+		if (current.get() != this) {
+			throw new IllegalStateException("Not the current recording");
+		}
+		if (this.parent != null) {
+			current.set(this.parent);
+		}
+		else {
+			current.remove();
+		}
+	}
+
+	/**
+	 * Whether Hibernate reports to recordings at all, that is whether a session factory
+	 * was started with statistics enabled.
+	 */
+	public static boolean isCollecting() {
+		return collecting;
+	}
+
+	static void collecting() {
+		collecting = true;
+	}
+
+	static @Nullable HibernateWorkStatistics current() {
+		return current.get();
+	}
+
+	static void statementPrepared() {
+		for (HibernateWorkStatistics statistics = current.get(); statistics != null; statistics = statistics.parent) {
+			statistics.statements++;
+		}
+	}
+
+	static void entityLoaded() {
+		for (HibernateWorkStatistics statistics = current.get(); statistics != null; statistics = statistics.parent) {
+			statistics.entityLoads++;
+		}
+	}
+
+	static void entityFetched() {
+		for (HibernateWorkStatistics statistics = current.get(); statistics != null; statistics = statistics.parent) {
+			statistics.entityFetches++;
+		}
+	}
+
+	static void collectionLoaded() {
+		for (HibernateWorkStatistics statistics = current.get(); statistics != null; statistics = statistics.parent) {
+			statistics.collectionLoads++;
+		}
+	}
+
+	static void collectionFetched() {
+		for (HibernateWorkStatistics statistics = current.get(); statistics != null; statistics = statistics.parent) {
+			statistics.collectionFetches++;
+		}
+	}
+
+	static void flushed(long nanos) {
+		for (HibernateWorkStatistics statistics = current.get(); statistics != null; statistics = statistics.parent) {
+			statistics.flushes++;
+			statistics.flushNanos += nanos;
+		}
+	}
+
+	/**
+	 * Return the JDBC statements prepared, each query or write counting once even when
+	 * executed as a batch.
+	 */
+	public long getStatements() {
+		return this.statements;
+	}
+
+	/**
+	 * Return the entities loaded, whether by a query or as part of another entity.
+	 */
+	public long getEntityLoads() {
+		return this.entityLoads;
+	}
+
+	/**
+	 * Return the entities fetched with a select of their own, when a lazy reference was
+	 * initialized.
+	 */
+	public long getEntityFetches() {
+		return this.entityFetches;
+	}
+
+	/**
+	 * Return the collections loaded, whether fetched on their own or joined.
+	 */
+	public long getCollectionLoads() {
+		return this.collectionLoads;
+	}
+
+	/**
+	 * Return the collections fetched with a select of their own, the usual sign of an
+	 * N+1 pattern when it grows with the number of rows shown.
+	 */
+	public long getCollectionFetches() {
+		return this.collectionFetches;
+	}
+
+	/**
+	 * Return the flushes, counting the dirty checks before queries whether or not they
+	 * found anything to write.
+	 */
+	public long getFlushes() {
+		return this.flushes;
+	}
+
+	/**
+	 * Return the time spent in the {@link #getFlushes() flushes}.
+	 */
+	public long getFlushNanos() {
+		return this.flushNanos;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d statements, %d entity loads, %d entity fetches, %d collection loads, "
+				+ "%d collection fetches, %d flushes in %.1f ms", this.statements, this.entityLoads,
+				this.entityFetches, this.collectionLoads, this.collectionFetches, this.flushes,
+				this.flushNanos / 1e6);
+	}
+
+}
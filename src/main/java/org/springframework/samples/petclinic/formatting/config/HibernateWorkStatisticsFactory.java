@@ -0,0 +1,84 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Hibernate's own statistics, which additionally count into the
+ * {@link HibernateWorkStatistics} of the current thread. Configured as
+ * <code>hibernate.stats.factory</code>; Hibernate only reports to its statistics while
+ * <code>hibernate.generate_statistics</code> is set.
+ * <p>
+ * The default statistics are wrapped in a JDK proxy of the {@link StatisticsImplementor}
+ * SPI rather than subclassed, so that only their public constructor is relied on and
+ * callbacks added by later Hibernate versions reach them unchanged.
+ * </p>
+ */
+public class HibernateWorkStatisticsFactory implements StatisticsFactory {
+
+	@Override
+	public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+		return (StatisticsImplementor) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] { StatisticsImplementor.class }, new WorkStatistics(new StatisticsImpl(sessionFactory)));
+	}
+
+	private static final class WorkStatistics implements InvocationHandler {
+
+		private final StatisticsImplementor target;
+
+		WorkStatistics(StatisticsImplementor target) {
+			this.target = target;
+		}
+
+		@Override
+		public @Nullable Object invoke(Object proxy, Method method, @Nullable Object[] args) throws Throwable {
+			Object result;
+			try {
+				result = method.invoke(this.target, args);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+			switch (method.getName()) {
+				case "setStatisticsEnabled" -> {
+					if (Boolean.TRUE.equals(args[0])) {
+						HibernateWorkStatistics.collecting();
+					}
+				}
+				case "prepareStatement" -> HibernateWorkStatistics.statementPrepared();
+				case "loadEntity" -> HibernateWorkStatistics.entityLoaded();
+				case "fetchEntity" -> HibernateWorkStatistics.entityFetched();
+				case "loadCollection" -> HibernateWorkStatistics.collectionLoaded();
+				case "fetchCollection" -> HibernateWorkStatistics.collectionFetched();
+				default -> {
+				}
+			}
+			return result;
+		}
+
+	}
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Times the flushes of a session, explicit or before a query, into the
+ * {@link HibernateWorkStatistics} of the current thread. Configured as
+ * <code>hibernate.session.events.auto</code>, so that every session gets its own
+ * instance.
+ */
+public class HibernateWorkStatisticsListener implements SessionEventListener {
+
+	private static final long serialVersionUID = 1L;
+
+	private long flushStart;
+
+	@Override
+	public void flushStart() {
+		this.flushStart = System.nanoTime();
+	}
+
+	@Override
+	public void flushEnd(int numberOfEntities, int numberOfCollections) {
+		HibernateWorkStatistics.flushed(System.nanoTime() - this.flushStart);
+	}
+
+	@Override
+	public void partialFlushStart() {
+		this.flushStart = System.nanoTime();
+	}
+
+	@Override
+	public void partialFlushEnd(int numberOfEntities, int numberOfCollections) {
+		HibernateWorkStatistics.flushed(System.nanoTime() - this.flushStart);
+	}
+
+}
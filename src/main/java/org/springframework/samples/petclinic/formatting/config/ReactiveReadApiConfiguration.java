@@ -0,0 +1,60 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+
+/**
+ * Starts the reactive read API when <code>petclinic.reactive.port</code> is set, see
+ * {@link ReactiveReadServer}. The R2DBC connections are configured under
+ * <code>petclinic.reactive.r2dbc</code> and must reach the database of
+ * <code>spring.datasource</code>; H2 and PostgreSQL are supported (see the
+ * <code>reactive</code> profile).
+ * <p>
+ * The connection factory is deliberately not a bean: Spring Boot stops configuring the
+ * JDBC {@code DataSource} as soon as an R2DBC {@code ConnectionFactory} bean exists, and
+ * the MVC side still needs it.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty("petclinic.reactive.port")
+class ReactiveReadApiConfiguration {
+
+	@Bean
+	ReactiveReadServer reactiveReadServer(@Value("${petclinic.reactive.port}") int port,
+			@Value("${petclinic.reactive.r2dbc.url}") String url,
+			@Value("${petclinic.reactive.r2dbc.username:}") String username,
+			@Value("${petclinic.reactive.r2dbc.password:}") String password,
+			@Value("${petclinic.reactive.r2dbc.pool-size:10}") int poolSize) {
+		ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+		if (!username.isEmpty()) {
+			options.option(ConnectionFactoryOptions.USER, username);
+		}
+		if (!password.isEmpty()) {
+			options.option(ConnectionFactoryOptions.PASSWORD, password);
+		}
+		return new ReactiveReadServer(port,
+				ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build())).maxSize(poolSize).build());
+	}
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.samples.petclinic.domain.repository.ReactiveClinicQueries;
+import org.springframework.samples.petclinic.web.controller.ReactiveReadRoutes;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import org.jspecify.annotations.Nullable;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Reactor Netty server of the reactive read API, see {@link ReactiveReadRoutes}. It runs
+ * in the same application as the servlet container but on its own port and event loop,
+ * with its own pool of R2DBC connections, so neither stack takes threads or connections
+ * from the other. The pool is created on each start and disposed on each stop, so the
+ * server can be stopped and started again.
+ */
+public class ReactiveReadServer implements SmartLifecycle {
+
+	private final int port;
+
+	private final ConnectionPoolConfiguration poolConfiguration;
+
+	private @Nullable ConnectionPool connectionPool;
+
+	private @Nullable DisposableServer server;
+
+	ReactiveReadServer(int port, ConnectionPoolConfiguration poolConfiguration) {
+		this.port = port;
+		this.poolConfiguration = poolConfiguration;
+	}
+
+	@Override
+	public synchronized void start() {
+		ConnectionPool connectionPool = new ConnectionPool(this.poolConfiguration);
+		ReactiveClinicQueries queries = new ReactiveClinicQueries(DatabaseClient.create(connectionPool));
+		HttpHandler httpHandler = RouterFunctions.toHttpHandler(ReactiveReadRoutes.routes(queries),
+				HandlerStrategies.withDefaults());
+		try {
+			this.server = HttpServer.create().port(this.port).handle(new ReactorHttpHandlerAdapter(httpHandler)).bindNow();
+		}
+		catch (RuntimeException ex) {
+			connectionPool.dispose();
+			throw ex;
+		}
+		this.connectionPool = connectionPool;
+	}
+
+	@Override
+	public synchronized void stop() {
+		DisposableServer server = this.server;
+		if (server != null) {
+			this.server = null;
+			server.disposeNow();
+		}
+		ConnectionPool connectionPool = this.connectionPool;
+		if (connectionPool != null) {
+			this.connectionPool = null;
+			connectionPool.dispose();
+		}
+	}
+
+	@Override
+	public synchronized boolean isRunning() {
+		return this.server != null;
+	}
+
+	/**
+	 * Return the port the server listens on, the actual one if it was configured as 0.
+	 * @return the port, or -1 if the server is not running
+	 */
+	public synchronized int getPort() {
+		return (this.server != null) ? this.server.port() : -1;
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Pins the requests of a client to the primary database for a while after it sent a
+ * write, so the redirect after a POST (for example to <code>/owners/{ownerId}</code>)
+ * does not read a replica that has not caught up yet. The client is remembered with a
+ * short-lived cookie, so any instance of the application honours it.
+ */
+class ReadYourWritesFilter extends OncePerRequestFilter {
+
+	static final String COOKIE_NAME = "petclinic-primary";
+
+	private final Duration stickiness;
+
+	ReadYourWritesFilter(Duration stickiness) {
+		this.stickiness = stickiness;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		boolean write = !isSafe(request.getMethod());
+		if (write) {
+			// set before the chain runs, the response is committed by the redirect
+			Cookie cookie = new Cookie(COOKIE_NAME, "1");
+			cookie.setPath("/");
+			cookie.setHttpOnly(true);
+			cookie.setMaxAge((int) this.stickiness.toSeconds());
+			response.addCookie(cookie);
+		}
+		if (!write && WebUtils.getCookie(request, COOKIE_NAME) == null) {
+			chain.doFilter(request, response);
+			return;
+		}
+		ReplicaRoutingDataSource.pinToPrimary();
+		try {
+			chain.doFilter(request, response);
+		}
+		finally {
+			ReplicaRoutingDataSource.release();
+		}
+	}
+
+	private static boolean isSafe(String method) {
+		return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)
+				|| HttpMethod.OPTIONS.matches(method) || HttpMethod.TRACE.matches(method);
+	}
+
+}
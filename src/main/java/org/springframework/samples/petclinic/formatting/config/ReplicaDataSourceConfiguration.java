@@ -0,0 +1,108 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.jdbc.init.DataSourceScriptDatabaseInitializer;
+import org.springframework.boot.sql.autoconfigure.init.ApplicationScriptDatabaseInitializer;
+import org.springframework.boot.sql.autoconfigure.init.SqlInitializationProperties;
+import org.springframework.boot.sql.init.DatabaseInitializationMode;
+import org.springframework.boot.sql.init.DatabaseInitializationSettings;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary, when
+ * <code>petclinic.replica.datasource.url</code> is set.
+ * <p>
+ * The application {@link DataSource} is a {@link LazyConnectionDataSourceProxy}: it only
+ * fetches a physical connection on the first statement, once the transaction manager has
+ * marked the connection read-only, and then takes it from the replica pool. Clients that
+ * just wrote keep reading from the primary for <code>petclinic.replica.stickiness</code>,
+ * see {@link ReadYourWritesFilter}.
+ * <p>
+ * The replica is configured like <code>spring.datasource</code>, under
+ * <code>petclinic.replica.datasource</code>. With
+ * <code>petclinic.replica.initialize=true</code> the SQL init scripts also run against
+ * the replica, which lets two embedded databases stand in for a replicated pair (see the
+ * <code>replica</code> profile).
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty("petclinic.replica.datasource.url")
+class ReplicaDataSourceConfiguration {
+
+	@Bean(defaultCandidate = false)
+	@Qualifier("primary")
+	@ConfigurationProperties("spring.datasource.hikari")
+	HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+	}
+
+	@Bean(defaultCandidate = false)
+	@Qualifier("replica")
+	@ConfigurationProperties("petclinic.replica.datasource")
+	DataSourceProperties replicaDataSourceProperties() {
+		return new DataSourceProperties();
+	}
+
+	@Bean(defaultCandidate = false)
+	@Qualifier("replica")
+	@ConfigurationProperties("petclinic.replica.datasource.hikari")
+	HikariDataSource replicaDataSource(@Qualifier("replica") DataSourceProperties properties) {
+		return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+	}
+
+	@Bean
+	@Primary
+	DataSource dataSource(@Qualifier("primary") DataSource primary, @Qualifier("replica") DataSource replica) {
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+		dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replica));
+		return dataSource;
+	}
+
+	@Bean
+	FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+			@Value("${petclinic.replica.stickiness:10s}") Duration stickiness) {
+		FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+				new ReadYourWritesFilter(stickiness));
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+		return registration;
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "petclinic.replica.initialize", havingValue = "true")
+	DataSourceScriptDatabaseInitializer replicaDataSourceInitializer(@Qualifier("replica") DataSource replica,
+			SqlInitializationProperties properties) {
+		DatabaseInitializationSettings settings = ApplicationScriptDatabaseInitializer.getSettings(properties);
+		settings.setMode(DatabaseInitializationMode.ALWAYS);
+		return new DataSourceScriptDatabaseInitializer(replica, settings);
+	}
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Read-only {@link DataSource} that hands out replica connections, unless the current
+ * thread was pinned to the primary with {@link #pinToPrimary()} so it reads its own
+ * writes.
+ */
+class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+	private static final ThreadLocal<Boolean> primaryPinned = new ThreadLocal<>();
+
+	private static final String PRIMARY = "primary";
+
+	private static final String REPLICA = "replica";
+
+	ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+		setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+		setDefaultTargetDataSource(replica);
+		setLenientFallback(false);
+		// not a bean of its own, so nothing else calls afterPropertiesSet()
+		initialize();
+	}
+
+	/**
+	 * Send the reads of the current thread to the primary until {@link #release()}.
+	 */
+	static void pinToPrimary() {
+		primaryPinned.set(Boolean.TRUE);
+	}
+
+	static void release() {
+		primaryPinned.remove();
+	}
+
+	static boolean isPinnedToPrimary() {
+		return primaryPinned.get() != null;
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		return isPinnedToPrimary() ? PRIMARY : REPLICA;
+	}
+
+}
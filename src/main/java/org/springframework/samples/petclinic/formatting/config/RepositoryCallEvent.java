@@ -0,0 +1,45 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A call to a Spring Data repository method, see {@link RepositoryMethodInterceptor}.
+ */
+@Name("org.springframework.samples.petclinic.RepositoryCall")
+@Label("Repository Call")
+@Category({ "PetClinic", "Repository" })
+@Description("A call to a repository method")
+@StackTrace(false)
+final class RepositoryCallEvent extends Event {
+
+	@Label("Repository Method")
+	String repositoryMethod;
+
+	@Label("Route")
+	String route;
+
+	@Label("Entity Id")
+	@Description("The id passed to the method, or the id of the entity passed to it")
+	String entityId;
+
+}
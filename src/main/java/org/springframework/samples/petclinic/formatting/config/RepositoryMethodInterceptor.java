@@ -0,0 +1,88 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.jspecify.annotations.Nullable;
+import org.springframework.samples.petclinic.formatting.persistance.model.BaseRelationEntity;
+
+/**
+ * Tracks the repository method running on the current thread, the innermost one when a
+ * default method calls others, so that SQL can be traced back to it, and emits a
+ * {@link RepositoryCallEvent} for every call while a flight recording is running. Added
+ * to every Spring Data repository by {@link StatementTimingConfiguration}.
+ */
+final class RepositoryMethodInterceptor implements MethodInterceptor {
+
+	private static final ThreadLocal<@Nullable String> current = new ThreadLocal<>();
+
+	private final Class<?> repositoryInterface;
+
+	private final Map<Method, String> names = new ConcurrentHashMap<>();
+
+	RepositoryMethodInterceptor(Class<?> repositoryInterface) {
+		this.repositoryInterface = repositoryInterface;
+	}
+
+	/**
+	 * Return the repository method running on the current thread, for example
+	 * <code>OwnerRepository.findById</code>, or {@code null} outside of repositories.
+	 */
+	static @Nullable String current() {
+		return current.get();
+	}
+
+	@Override
+	public @Nullable Object invoke(MethodInvocation invocation) throws Throwable {
+		String previous = current.get();
+		String name = this.names.computeIfAbsent(invocation.getMethod(),
+				(method) -> this.repositoryInterface.getSimpleName() + "." + method.getName());
+		current.set(name);
+		RepositoryCallEvent event = new RepositoryCallEvent();
+		event.begin();
+		try {
+			return invocation.proceed();
+		}
+		finally {
+			current.set(previous);
+			if (event.shouldCommit()) {
+				event.repositoryMethod = name;
+				event.route = RequestRoute.current();
+				event.entityId = entityId(invocation.getArguments());
+				event.commit();
+			}
+		}
+	}
+
+	private static @Nullable String entityId(@Nullable Object[] arguments) {
+		if (arguments.length == 0) {
+			return null;
+		}
+		if (arguments[0] instanceof Integer id) {
+			return id.toString();
+		}
+		if (arguments[0] instanceof BaseRelationEntity entity && entity.getId() != null) {
+			return entity.getId().toString();
+		}
+		return null;
+	}
+
+}
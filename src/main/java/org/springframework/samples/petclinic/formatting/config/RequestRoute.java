@@ -0,0 +1,59 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * The route of the request served on the current thread, to attribute work done deeper
+ * down, such as SQL or cache lookups, to the page it was done for.
+ */
+final class RequestRoute {
+
+	private RequestRoute() {
+	}
+
+	/**
+	 * Return the method and route template of the request served on the current thread,
+	 * for example <code>GET /owners/{ownerId}</code>, with the URI when no handler was
+	 * mapped yet, or {@code null} outside of requests and for requests that carry neither,
+	 * such as the mock request bound around tests.
+	 */
+	static @Nullable String current() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+			return null;
+		}
+		return of(servletAttributes.getRequest());
+	}
+
+	static @Nullable String of(HttpServletRequest request) {
+		Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String path = (route != null) ? route.toString() : request.getRequestURI();
+		if (!StringUtils.hasLength(request.getMethod()) || !StringUtils.hasLength(path)) {
+			return null;
+		}
+		return request.getMethod() + " " + path;
+	}
+
+}
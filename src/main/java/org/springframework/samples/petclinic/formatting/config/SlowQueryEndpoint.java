@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint with the most recent statements logged by the {@link SlowQueryLog},
+ * newest first.
+ */
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+	private final int capacity;
+
+	private final Deque<SlowQuery> queries = new ArrayDeque<>();
+
+	SlowQueryEndpoint(int capacity) {
+		this.capacity = capacity;
+	}
+
+	synchronized void record(SlowQuery query) {
+		if (this.queries.size() == this.capacity) {
+			this.queries.removeLast();
+		}
+		this.queries.addFirst(query);
+	}
+
+	@ReadOperation
+	public synchronized List<SlowQuery> slowQueries() {
+		return new ArrayList<>(this.queries);
+	}
+
+	@DeleteOperation
+	public synchronized void clear() {
+		this.queries.clear();
+	}
+
+	/**
+	 * A statement that took at least the threshold.
+	 *
+	 * @param completed when the statement completed
+	 * @param millis how long the statement took
+	 * @param sql the SQL, the first statement of the batch for a plain statement
+	 * @param parameters the bind parameters, those of the last row for a batch
+	 * @param batchSize the statements of the batch, 0 when not executed as a batch
+	 * @param rows the rows the query read or the update changed
+	 * @param repositoryMethod the repository method that issued the statement, for
+	 * example <code>OwnerRepository.findById</code>
+	 * @param route the HTTP method and route template of the request being served
+	 * @param failed whether the statement threw an exception
+	 */
+	public record SlowQuery(Instant completed, double millis, String sql, List<String> parameters, int batchSize,
+			long rows, @Nullable String repositoryMethod, @Nullable String route, boolean failed) {
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+import org.springframework.samples.petclinic.formatting.config.SlowQueryEndpoint.SlowQuery;
+
+/**
+ * Logs the statements that take at least the threshold, with their bind parameters, the
+ * repository method that issued them and the route of the request being served, and
+ * keeps them for the {@link SlowQueryEndpoint}. Faster statements only cost a
+ * comparison.
+ * <p>
+ * Bind parameters hold names, addresses and telephone numbers, and end up in the log
+ * and behind the actuator. Unless parameter values are enabled, only numbers, booleans
+ * and {@code NULL} are shown and every other parameter is replaced by its type.
+ * </p>
+ */
+class SlowQueryLog implements StatementListener {
+
+	private static final int MAX_PARAMETER_LENGTH = 100;
+
+	private static final Log logger = LogFactory.getLog(SlowQueryLog.class);
+
+	private final long thresholdNanos;
+
+	private final SlowQueryEndpoint endpoint;
+
+	private final boolean parameterValues;
+
+	SlowQueryLog(Duration threshold, SlowQueryEndpoint endpoint, boolean parameterValues) {
+		this.thresholdNanos = threshold.toNanos();
+		this.endpoint = endpoint;
+		this.parameterValues = parameterValues;
+	}
+
+	@Override
+	public void executed(Execution execution) {
+		if (execution.getNanos() < this.thresholdNanos) {
+			return;
+		}
+		List<String> parameters = new ArrayList<>();
+		for (Object parameter : execution.getParameters()) {
+			parameters.add(format(parameter));
+		}
+		SlowQuery query = new SlowQuery(Instant.now(), execution.getNanos() / 1e6, execution.getSql(), parameters,
+				execution.getBatchSize(), execution.getRows(), RepositoryMethodInterceptor.current(), RequestRoute.current(),
+				execution.isFailed());
+		if (logger.isWarnEnabled()) {
+			logger.warn(String.format("Slow query, %.1f ms, %d rows%s%s%s%s: %s %s", query.millis(), query.rows(),
+					query.failed() ? ", failed" : "",
+					(query.batchSize() > 0) ? ", batch of " + query.batchSize() : "",
+					(query.repositoryMethod() != null) ? ", in " + query.repositoryMethod() : "",
+					(query.route() != null) ? ", for " + query.route() : "", query.sql(), query.parameters()));
+		}
+		this.endpoint.record(query);
+	}
+
+	private String format(@Nullable Object parameter) {
+		if (parameter == null) {
+			return "NULL";
+		}
+		if (parameter instanceof Number || parameter instanceof Boolean) {
+			return parameter.toString();
+		}
+		if (!this.parameterValues) {
+			return "<" + parameter.getClass().getSimpleName() + ">";
+		}
+		if (parameter instanceof byte[] bytes) {
+			return "<" + bytes.length + " bytes>";
+		}
+		if (parameter instanceof InputStream || parameter instanceof Reader || parameter instanceof Blob
+				|| parameter instanceof Clob) {
+			return "<" + parameter.getClass().getSimpleName() + ">";
+		}
+		String value = parameter.toString();
+		if (value.length() > MAX_PARAMETER_LENGTH) {
+			value = value.substring(0, MAX_PARAMETER_LENGTH) + "...";
+		}
+		return (parameter instanceof CharSequence) ? "'" + value + "'" : value;
+	}
+
+}
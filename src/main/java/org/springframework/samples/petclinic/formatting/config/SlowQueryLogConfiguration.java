@@ -0,0 +1,48 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Logs the statements that take at least <code>petclinic.slow-query-log.threshold</code>
+ * and keeps the most recent ones at <code>/actuator/slowqueries</code>, when
+ * <code>petclinic.slow-query-log.enabled=true</code>. Bind parameters other than numbers
+ * and booleans are masked unless <code>petclinic.slow-query-log.parameter-values</code>
+ * is <code>true</code>.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "petclinic.slow-query-log.enabled", havingValue = "true")
+class SlowQueryLogConfiguration {
+
+	@Bean
+	SlowQueryEndpoint slowQueryEndpoint(@Value("${petclinic.slow-query-log.queries:100}") int queries) {
+		return new SlowQueryEndpoint(queries);
+	}
+
+	@Bean
+	SlowQueryLog slowQueryLog(@Value("${petclinic.slow-query-log.threshold:100ms}") Duration threshold,
+			@Value("${petclinic.slow-query-log.parameter-values:false}") boolean parameterValues,
+			SlowQueryEndpoint endpoint) {
+		return new SlowQueryLog(threshold, endpoint, parameterValues);
+	}
+
+}
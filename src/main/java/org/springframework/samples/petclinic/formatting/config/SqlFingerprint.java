@@ -0,0 +1,130 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes SQL to a fingerprint shared by all executions of the same statement, in the
+ * manner of <code>pg_stat_statements</code>: literals become <code>?</code>, lists of
+ * parameters become <code>(?, ...)</code>, comments are dropped and whitespace is
+ * collapsed. Fingerprints are cached by SQL, as Hibernate issues the same strings over
+ * and over.
+ */
+final class SqlFingerprint {
+
+	private static final int MAX_CACHED = 1000;
+
+	private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\?(?: ?, ?\\?)+\\)");
+
+	private static final Map<String, String> cache = new ConcurrentHashMap<>();
+
+	private SqlFingerprint() {
+	}
+
+	static String of(String sql) {
+		String fingerprint = cache.get(sql);
+		if (fingerprint == null) {
+			fingerprint = normalize(sql);
+			if (cache.size() < MAX_CACHED) {
+				cache.putIfAbsent(sql, fingerprint);
+			}
+		}
+		return fingerprint;
+	}
+
+	static String normalize(String sql) {
+		StringBuilder fingerprint = new StringBuilder(sql.length());
+		boolean space = false;
+		int i = 0;
+		while (i < sql.length()) {
+			char c = sql.charAt(i);
+			char next = (i + 1 < sql.length()) ? sql.charAt(i + 1) : 0;
+			if (Character.isWhitespace(c)) {
+				space = true;
+				i++;
+				continue;
+			}
+			if (c == '-' && next == '-') {
+				int end = sql.indexOf('\n', i);
+				i = (end != -1) ? end + 1 : sql.length();
+				space = true;
+				continue;
+			}
+			if (c == '/' && next == '*') {
+				int end = sql.indexOf("*/", i + 2);
+				i = (end != -1) ? end + 2 : sql.length();
+				space = true;
+				continue;
+			}
+			if (space && !fingerprint.isEmpty()) {
+				fingerprint.append(' ');
+			}
+			space = false;
+			if (c == '\'') {
+				i = skipQuoted(sql, i, c);
+				fingerprint.append('?');
+			}
+			else if (c == '"' || c == '`') {
+				int end = skipQuoted(sql, i, c);
+				fingerprint.append(sql, i, end);
+				i = end;
+			}
+			else if (Character.isDigit(c) && !continuesIdentifier(fingerprint)) {
+				while (i < sql.length() && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+					i++;
+				}
+				fingerprint.append('?');
+			}
+			else {
+				fingerprint.append(c);
+				i++;
+			}
+		}
+		return PARAMETER_LIST.matcher(fingerprint).replaceAll("(?, ...)");
+	}
+
+	private static int skipQuoted(String sql, int start, char quote) {
+		int i = start + 1;
+		while (i < sql.length()) {
+			char c = sql.charAt(i);
+			if (c == '\\' && quote == '\'') {
+				i += 2;
+			}
+			else if (c == quote && i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+				i += 2;
+			}
+			else if (c == quote) {
+				return i + 1;
+			}
+			else {
+				i++;
+			}
+		}
+		return sql.length();
+	}
+
+	private static boolean continuesIdentifier(StringBuilder fingerprint) {
+		if (fingerprint.isEmpty()) {
+			return false;
+		}
+		char previous = fingerprint.charAt(fingerprint.length() - 1);
+		return Character.isLetterOrDigit(previous) || previous == '_' || previous == '$';
+	}
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.samples.petclinic.formatting.config.SqlStatementsEndpoint.StatementStatistics;
+
+/**
+ * Aggregates every executed statement by its {@link SqlFingerprint}: calls, failures,
+ * rows, and the total, mean, 99th percentile and maximum time. A batch counts as one
+ * call. Counters are lock-free, and the time of each call is also counted into
+ * logarithmic buckets, four per power of two starting at a microsecond, which is what
+ * the percentile is estimated from, with an error of at most a quarter.
+ * <p>
+ * At most <code>maxStatements</code> fingerprints are tracked; once that many were seen,
+ * new ones are counted under {@link #OTHER}.
+ * </p>
+ */
+class SqlStatementStatistics implements StatementListener {
+
+	static final String OTHER = "(other statements)";
+
+	private final int maxStatements;
+
+	private final Map<String, Statistics> statements = new ConcurrentHashMap<>();
+
+	SqlStatementStatistics(int maxStatements) {
+		this.maxStatements = maxStatements;
+	}
+
+	@Override
+	public void executed(Execution execution) {
+		String fingerprint = SqlFingerprint.of(execution.getSql());
+		Statistics statistics = this.statements.get(fingerprint);
+		if (statistics == null) {
+			statistics = this.statements.computeIfAbsent(
+					(this.statements.size() < this.maxStatements) ? fingerprint : OTHER,
+					(key) -> new Statistics());
+		}
+		statistics.record(execution.getNanos(), execution.getRows(), execution.isFailed());
+	}
+
+	/**
+	 * Return the statistics of every fingerprint, the most total time first.
+	 */
+	List<StatementStatistics> getStatements() {
+		List<StatementStatistics> statements = new ArrayList<>();
+		this.statements.forEach((fingerprint, statistics) -> statements.add(statistics.snapshot(fingerprint)));
+		statements.sort(Comparator.comparingDouble(StatementStatistics::totalMillis).reversed());
+		return statements;
+	}
+
+	void reset() {
+		this.statements.clear();
+	}
+
+	private static final class Statistics {
+
+		private static final int BUCKETS = 160;
+
+		private final LongAdder calls = new LongAdder();
+
+		private final LongAdder failures = new LongAdder();
+
+		private final LongAdder rows = new LongAdder();
+
+		private final LongAdder totalNanos = new LongAdder();
+
+		private final AtomicLong maxNanos = new AtomicLong();
+
+		private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+		void record(long nanos, long rows, boolean failed) {
+			this.calls.increment();
+			if (failed) {
+				this.failures.increment();
+			}
+			this.rows.add(rows);
+			this.totalNanos.add(nanos);
+			long max = this.maxNanos.get();
+			while (nanos > max && !this.maxNanos.compareAndSet(max, nanos)) {
+				max = this.maxNanos.get();
+			}
+			this.buckets.incrementAndGet(bucket(nanos));
+		}
+
+		StatementStatistics snapshot(String fingerprint) {
+			long calls = this.calls.sum();
+			double totalMillis = this.totalNanos.sum() / 1e6;
+			double maxMillis = this.maxNanos.get() / 1e6;
+			return new StatementStatistics(fingerprint, calls, this.failures.sum(), this.rows.sum(), totalMillis,
+					(calls > 0) ? totalMillis / calls : 0, Math.min(percentileMillis(0.99), maxMillis), maxMillis);
+		}
+
+		private double percentileMillis(double percentile) {
+			long[] counts = new long[BUCKETS];
+			long total = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				counts[i] = this.buckets.get(i);
+				total += counts[i];
+			}
+			long rank = (long) Math.ceil(total * percentile);
+			long seen = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				seen += counts[i];
+				if (seen >= rank && seen > 0) {
+					return upperBoundMicros(i) / 1e3;
+				}
+			}
+			return 0;
+		}
+
+		private static int bucket(long nanos) {
+			long micros = Math.max(1, nanos / 1000);
+			int exponent = 63 - Long.numberOfLeadingZeros(micros);
+			int quarter = (int) (((exponent >= 2) ? micros >>> (exponent - 2) : micros << (2 - exponent)) & 3);
+			return Math.min(4 * exponent + quarter, BUCKETS - 1);
+		}
+
+		private static double upperBoundMicros(int bucket) {
+			return (5 + bucket % 4) * Math.scalb(1.0, bucket / 4 - 2);
+		}
+
+	}
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Aggregates the statements by fingerprint and publishes them at
+ * <code>/actuator/sqlstatements</code>, when
+ * <code>petclinic.sql-statements.enabled=true</code>.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "petclinic.sql-statements.enabled", havingValue = "true")
+class SqlStatementStatisticsConfiguration {
+
+	@Bean
+	SqlStatementStatistics sqlStatementStatistics(@Value("${petclinic.sql-statements.max:1000}") int maxStatements) {
+		return new SqlStatementStatistics(maxStatements);
+	}
+
+	@Bean
+	SqlStatementsEndpoint sqlStatementsEndpoint(SqlStatementStatistics statistics) {
+		return new SqlStatementsEndpoint(statistics);
+	}
+
+}
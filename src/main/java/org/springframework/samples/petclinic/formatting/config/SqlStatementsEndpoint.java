@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint with the {@link SqlStatementStatistics} of every statement
+ * fingerprint since startup or the last reset, the most total time first.
+ */
+@Endpoint(id = "sqlstatements")
+public class SqlStatementsEndpoint {
+
+	private final SqlStatementStatistics statistics;
+
+	SqlStatementsEndpoint(SqlStatementStatistics statistics) {
+		this.statistics = statistics;
+	}
+
+	@ReadOperation
+	public List<StatementStatistics> statements() {
+		return this.statistics.getStatements();
+	}
+
+	@DeleteOperation
+	public void reset() {
+		this.statistics.reset();
+	}
+
+	/**
+	 * The statistics of a statement fingerprint.
+	 *
+	 * @param fingerprint the normalized SQL, see {@link SqlFingerprint}
+	 * @param calls the executions, a batch counting once
+	 * @param failures the executions that threw an exception
+	 * @param rows the rows read by queries or changed by updates
+	 * @param totalMillis the time of all executions
+	 * @param meanMillis the mean time of an execution
+	 * @param p99Millis the 99th percentile of the time of an execution, to within a
+	 * quarter
+	 * @param maxMillis the longest execution
+	 */
+	public record StatementStatistics(String fingerprint, long calls, long failures, long rows, double totalMillis,
+			double meanMillis, double p99Millis, double maxMillis) {
+	}
+
+}
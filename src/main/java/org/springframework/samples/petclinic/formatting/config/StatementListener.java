@@ -0,0 +1,70 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Told about every JDBC statement the application executes, see
+ * {@link StatementTimingDataSource}, once the rows it read or changed are known. Called on
+ * the executing thread, so implementations must be cheap for the common case and
+ * thread-safe.
+ */
+interface StatementListener {
+
+	void executed(Execution execution);
+
+	/**
+	 * A statement, or a batch of statements, that was executed. Only valid during the
+	 * call to the listener.
+	 */
+	interface Execution {
+
+		/**
+		 * Return the SQL, the first statement of the batch for a plain statement.
+		 */
+		String getSql();
+
+		/**
+		 * Return the bind parameters by index, those of the last row for a batch.
+		 */
+		List<@Nullable Object> getParameters();
+
+		/**
+		 * Return the statements of the batch, 0 when not executed as a batch.
+		 */
+		int getBatchSize();
+
+		/**
+		 * Return the rows the query read or the update changed.
+		 */
+		long getRows();
+
+		/**
+		 * Return how long the execution took, not counting reading the rows.
+		 */
+		long getNanos();
+
+		/**
+		 * Return whether the execution threw an exception.
+		 */
+		boolean isFailed();
+
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Wraps the application <code>dataSource</code> in a {@link StatementTimingDataSource}
+ * when there are {@link StatementListener} beans, and tracks the repository method that
+ * runs on each thread with a {@link RepositoryMethodInterceptor}, which also emits the
+ * flight recorder events of repository calls.
+ */
+@Configuration(proxyBeanMethods = false)
+class StatementTimingConfiguration {
+
+	@Bean
+	static BeanPostProcessor statementTimingDataSourcePostProcessor(ObjectProvider<StatementListener> listeners) {
+		return new BeanPostProcessor() {
+
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource dataSource && beanName.equals("dataSource")) {
+					List<StatementListener> statementListeners = listeners.orderedStream().toList();
+					if (!statementListeners.isEmpty()) {
+						return new StatementTimingDataSource(dataSource, statementListeners);
+					}
+				}
+				return bean;
+			}
+
+		};
+	}
+
+	@Bean
+	static BeanPostProcessor repositoryMethodPostProcessor() {
+		return new BeanPostProcessor() {
+
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+					factoryBean.addRepositoryFactoryCustomizer((factory) -> factory.addRepositoryProxyPostProcessor(
+							(proxyFactory, repository) -> proxyFactory
+								.addAdvice(new RepositoryMethodInterceptor(repository.getRepositoryInterface()))));
+				}
+				return bean;
+			}
+
+		};
+	}
+
+}
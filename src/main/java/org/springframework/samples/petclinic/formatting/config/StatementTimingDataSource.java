@@ -0,0 +1,333 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Times every statement executed through the target {@link DataSource} and reports it to
+ * the {@link StatementListener}s, along with the rows it read or changed. Connections,
+ * statements and result sets are wrapped in JDK proxies at the JDBC level, so it works
+ * with any driver. Bind parameters are only referenced until the statement is cleared
+ * or closed.
+ * <p>
+ * The overhead is not limited to the executions: every call on a wrapped object,
+ * including each {@code ResultSet.next()} and column getter, goes through the proxy and
+ * a reflective {@link Method#invoke}, so it grows with the rows and columns read. Each
+ * execution adds two clock reads and the work of the listeners, which for
+ * {@link SqlStatementStatistics} includes fingerprinting the SQL. Measure the
+ * application under load before keeping the listeners enabled in production.
+ * </p>
+ */
+final class StatementTimingDataSource extends DelegatingDataSource {
+
+	private static final Object[] NO_PARAMETERS = {};
+
+	private final StatementListener[] listeners;
+
+	StatementTimingDataSource(DataSource target, List<StatementListener> listeners) {
+		super(target);
+		this.listeners = listeners.toArray(StatementListener[]::new);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return connection(obtainTargetDataSource().getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return connection(obtainTargetDataSource().getConnection(username, password));
+	}
+
+	private Connection connection(Connection target) {
+		return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] { ConnectionProxy.class }, new ConnectionHandler(target));
+	}
+
+	private static @Nullable Object invoke(Object target, Method method, @Nullable Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		}
+		catch (InvocationTargetException ex) {
+			throw ex.getTargetException();
+		}
+	}
+
+	private final class ConnectionHandler implements InvocationHandler {
+
+		private final Connection target;
+
+		ConnectionHandler(Connection target) {
+			this.target = target;
+		}
+
+		@Override
+		public @Nullable Object invoke(Object proxy, Method method, @Nullable Object[] args) throws Throwable {
+			return switch (method.getName()) {
+				case "equals" -> proxy == args[0];
+				case "hashCode" -> System.identityHashCode(proxy);
+				case "getTargetConnection" -> this.target;
+				case "createStatement" -> statement((Connection) proxy, Statement.class,
+						(Statement) StatementTimingDataSource.invoke(this.target, method, args), "");
+				case "prepareStatement" -> statement((Connection) proxy, PreparedStatement.class,
+						(Statement) StatementTimingDataSource.invoke(this.target, method, args), (String) args[0]);
+				case "prepareCall" -> statement((Connection) proxy, CallableStatement.class,
+						(Statement) StatementTimingDataSource.invoke(this.target, method, args), (String) args[0]);
+				default -> StatementTimingDataSource.invoke(this.target, method, args);
+			};
+		}
+
+		private Statement statement(Connection connection, Class<? extends Statement> type, Statement target,
+				String sql) {
+			return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type },
+					new StatementHandler(connection, target, sql));
+		}
+
+	}
+
+	private final class StatementHandler implements InvocationHandler, StatementListener.Execution {
+
+		private final Connection connection;
+
+		private final Statement target;
+
+		private String sql;
+
+		private @Nullable Object[] parameters = NO_PARAMETERS;
+
+		private int parameterCount;
+
+		private int batchSize;
+
+		private long nanos;
+
+		private boolean failed;
+
+		private long rows;
+
+		private boolean pending;
+
+		StatementHandler(Connection connection, Statement target, String sql) {
+			this.connection = connection;
+			this.target = target;
+			this.sql = sql;
+		}
+
+		@Override
+		public @Nullable Object invoke(Object proxy, Method method, @Nullable Object[] args) throws Throwable {
+			String name = method.getName();
+			if (name.startsWith("execute")) {
+				return execute((Statement) proxy, method, args);
+			}
+			switch (name) {
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "getConnection":
+					return this.connection;
+				case "getResultSet":
+					ResultSet resultSet = (ResultSet) StatementTimingDataSource.invoke(this.target, method, args);
+					return (resultSet != null) ? resultSet((Statement) proxy, resultSet) : null;
+				case "getUpdateCount":
+				case "getLargeUpdateCount":
+					Number updateCount = (Number) StatementTimingDataSource.invoke(this.target, method, args);
+					if (this.pending && updateCount.longValue() >= 0) {
+						this.rows = updateCount.longValue();
+					}
+					return updateCount;
+				case "addBatch":
+					report();
+					if (args != null && this.batchSize == 0) {
+						this.sql = (String) args[0];
+					}
+					this.batchSize++;
+					break;
+				case "clearBatch":
+					this.batchSize = 0;
+					break;
+				case "clearParameters":
+				case "close":
+					report();
+					Arrays.fill(this.parameters, null);
+					this.parameterCount = 0;
+					break;
+				default:
+					if (args != null && args.length >= 2 && name.startsWith("set") && args[0] instanceof Integer index) {
+						report();
+						bind(index, name.equals("setNull") ? null : args[1]);
+					}
+			}
+			return StatementTimingDataSource.invoke(this.target, method, args);
+		}
+
+		/**
+		 * Execute and time the statement. The listeners are told once the rows are
+		 * known: right away for updates and batches, when the result set is closed for
+		 * queries, and otherwise when the statement is next used or closed.
+		 */
+		private @Nullable Object execute(Statement proxy, Method method, @Nullable Object[] args) throws Throwable {
+			report();
+			if (args != null && args.length > 0 && args[0] instanceof String sql) {
+				this.sql = sql;
+			}
+			this.rows = 0;
+			this.pending = true;
+			Object result;
+			long start = System.nanoTime();
+			try {
+				result = StatementTimingDataSource.invoke(this.target, method, args);
+			}
+			catch (Throwable ex) {
+				this.nanos = System.nanoTime() - start;
+				this.failed = true;
+				report();
+				throw ex;
+			}
+			this.nanos = System.nanoTime() - start;
+			this.failed = false;
+			if (result instanceof ResultSet resultSet) {
+				return resultSet(proxy, resultSet);
+			}
+			if (result instanceof Number updateCount) {
+				this.rows = Math.max(0, updateCount.longValue());
+				report();
+			}
+			else if (result instanceof int[] updateCounts) {
+				this.rows = Arrays.stream(updateCounts).filter((count) -> count > 0).asLongStream().sum();
+				report();
+			}
+			else if (result instanceof long[] updateCounts) {
+				this.rows = Arrays.stream(updateCounts).filter((count) -> count > 0).sum();
+				report();
+			}
+			return result;
+		}
+
+		private void report() {
+			if (this.pending) {
+				this.pending = false;
+				for (StatementListener listener : StatementTimingDataSource.this.listeners) {
+					listener.executed(this);
+				}
+				this.batchSize = 0;
+			}
+		}
+
+		private ResultSet resultSet(Statement statement, ResultSet target) {
+			return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ResultSet.class },
+					new ResultSetHandler(statement, target));
+		}
+
+		private void bind(int index, @Nullable Object value) {
+			if (index < 1) {
+				return;
+			}
+			if (index > this.parameters.length) {
+				this.parameters = Arrays.copyOf(this.parameters, Math.max(index, 2 * this.parameters.length));
+			}
+			this.parameters[index - 1] = value;
+			this.parameterCount = Math.max(this.parameterCount, index);
+		}
+
+		@Override
+		public String getSql() {
+			return this.sql;
+		}
+
+		@Override
+		public List<@Nullable Object> getParameters() {
+			return Arrays.asList(Arrays.copyOf(this.parameters, this.parameterCount));
+		}
+
+		@Override
+		public int getBatchSize() {
+			return this.batchSize;
+		}
+
+		@Override
+		public long getRows() {
+			return this.rows;
+		}
+
+		@Override
+		public long getNanos() {
+			return this.nanos;
+		}
+
+		@Override
+		public boolean isFailed() {
+			return this.failed;
+		}
+
+		private final class ResultSetHandler implements InvocationHandler {
+
+			private final Statement statement;
+
+			private final ResultSet target;
+
+			ResultSetHandler(Statement statement, ResultSet target) {
+				this.statement = statement;
+				this.target = target;
+			}
+
+			@Override
+			public @Nullable Object invoke(Object proxy, Method method, @Nullable Object[] args) throws Throwable {
+				switch (method.getName()) {
+					case "next":
+						Boolean next = (Boolean) StatementTimingDataSource.invoke(this.target, method, args);
+						if (next) {
+							StatementHandler.this.rows++;
+						}
+						return next;
+					case "close":
+						Object result = StatementTimingDataSource.invoke(this.target, method, args);
+						report();
+						return result;
+					case "getStatement":
+						return this.statement;
+					case "equals":
+						return proxy == args[0];
+					case "hashCode":
+						return System.identityHashCode(proxy);
+					default:
+						return StatementTimingDataSource.invoke(this.target, method, args);
+				}
+			}
+
+		}
+
+	}
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Reports virtual threads pinned to their carrier thread, which then blocks a carrier
+ * instead of unmounting, for example while a native frame or a class initializer is on
+ * the stack. Pinning events are read in-process from a JFR recording stream of
+ * <code>jdk.VirtualThreadPinned</code> events lasting at least
+ * <code>petclinic.virtual-threads.pinning.threshold</code>.
+ * <p>
+ * Each event is attributed to the innermost PetClinic frame of its stack, the hot path
+ * that pinned, and counted per frame and reason. The first event of a frame is logged
+ * with its stack, later ones only at debug level; {@link #getPinnedCounts()} returns the
+ * totals, which are also logged when the application stops. Created when
+ * <code>petclinic.virtual-threads.pinning.enabled=true</code>, as in the
+ * <code>virtual-threads</code> profile.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "petclinic.virtual-threads.pinning.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+	static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+	private static final String APPLICATION_PACKAGE = "org.springframework.samples.petclinic.";
+
+	private static final int LOGGED_FRAMES = 12;
+
+	private static final Log logger = LogFactory.getLog(VirtualThreadPinningMonitor.class);
+
+	private final Duration threshold;
+
+	private final Map<String, LongAdder> pinned = new ConcurrentHashMap<>();
+
+	private @Nullable RecordingStream stream;
+
+	public VirtualThreadPinningMonitor(
+			@Value("${petclinic.virtual-threads.pinning.threshold:20ms}") Duration threshold) {
+		this.threshold = threshold;
+	}
+
+	@Override
+	public synchronized void start() {
+		RecordingStream stream = new RecordingStream();
+		stream.enable(PINNED_EVENT).withThreshold(this.threshold).withStackTrace();
+		stream.onEvent(PINNED_EVENT, this::record);
+		stream.startAsync();
+		this.stream = stream;
+	}
+
+	@Override
+	public synchronized void stop() {
+		RecordingStream stream = this.stream;
+		if (stream != null) {
+			this.stream = null;
+			stream.close();
+			if (!this.pinned.isEmpty()) {
+				logger.info("Virtual threads pinned: " + getPinnedCounts());
+			}
+		}
+	}
+
+	@Override
+	public synchronized boolean isRunning() {
+		return this.stream != null;
+	}
+
+	/**
+	 * Return the number of pinning events so far, by the PetClinic frame that was on the
+	 * stack and the reason reported by the JVM.
+	 * @return the counts, keyed by <code>frame (reason)</code>
+	 */
+	public Map<String, Long> getPinnedCounts() {
+		return this.pinned.entrySet()
+			.stream()
+			.collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum(), Long::sum, TreeMap::new));
+	}
+
+	void record(RecordedEvent event) {
+		List<RecordedFrame> frames = (event.getStackTrace() != null) ? event.getStackTrace().getFrames()
+				: List.of();
+		// the reason is only recorded by JDK 24 and later
+		String reason = event.hasField("pinnedReason") ? event.getString("pinnedReason") : "unknown reason";
+		String key = hotPath(frames) + " (" + reason + ")";
+		LongAdder count = this.pinned.computeIfAbsent(key, k -> new LongAdder());
+		count.increment();
+		if (count.sum() == 1) {
+			logger.warn("Virtual thread pinned for " + event.getDuration().toMillis() + " ms at " + key
+					+ stackOf(event.getStackTrace()));
+		}
+		else if (logger.isDebugEnabled()) {
+			logger.debug("Virtual thread pinned for " + event.getDuration().toMillis() + " ms at " + key);
+		}
+	}
+
+	private static String hotPath(List<RecordedFrame> frames) {
+		RecordedFrame top = null;
+		for (RecordedFrame frame : frames) {
+			if (top == null) {
+				top = frame;
+			}
+			if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+				return describe(frame);
+			}
+		}
+		return (top != null) ? describe(top) : "unknown frame";
+	}
+
+	private static String describe(RecordedFrame frame) {
+		return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":"
+				+ frame.getLineNumber();
+	}
+
+	private static String stackOf(@Nullable RecordedStackTrace stackTrace) {
+		if (stackTrace == null) {
+			return "";
+		}
+		return stackTrace.getFrames()
+			.stream()
+			.limit(LOGGED_FRAMES)
+			.map(frame -> "\n\tat " + describe(frame) + (frame.isJavaFrame() ? "" : " (native)"))
+			.collect(Collectors.joining());
+	}
+
+}
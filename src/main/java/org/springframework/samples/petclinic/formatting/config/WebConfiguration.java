@@ -1,7 +1,12 @@
 package org.springframework.samples.petclinic.formatting.config;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.samples.petclinic.domain.reference.ReferenceDataRegistry;
+import org.springframework.samples.petclinic.domain.repository.OwnerRepository;
+import org.springframework.samples.petclinic.domain.repository.VetRepository;
 import org.springframework.web.servlet.LocaleResolver;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -24,6 +29,22 @@ import java.util.Locale;
 @SuppressWarnings("unused")
 public class WebConfiguration implements WebMvcConfigurer {
 
+	private final ObjectProvider<OwnerRepository> owners;
+
+	private final ObjectProvider<VetRepository> vets;
+
+	private final ObjectProvider<ReferenceDataRegistry> referenceData;
+
+	private final ObjectProvider<CacheManager> cacheManager;
+
+	public WebConfiguration(ObjectProvider<OwnerRepository> owners, ObjectProvider<VetRepository> vets,
+			ObjectProvider<ReferenceDataRegistry> referenceData, ObjectProvider<CacheManager> cacheManager) {
+		this.owners = owners;
+		this.vets = vets;
+		this.referenceData = referenceData;
+		this.cacheManager = cacheManager;
+	}
+
 	/**
 	 * Uses session storage to remember the user’s language setting across requests.
 	 * Defaults to English if nothing is specified.
@@ -49,12 +70,19 @@ public class WebConfiguration implements WebMvcConfigurer {
 	}
 
 	/**
-	 * Registers the locale change interceptor so it can run on each request.
+	 * Registers the {@link ControllerEventInterceptor} first, so that its events span the
+	 * other interceptors, then the locale change interceptor so it can run on each
+	 * request, followed by the {@link ConditionalGetInterceptor} of the cacheable pages,
+	 * which needs the resolved locale.
 	 * @param registry where interceptors are added
 	 */
 	@Override
 	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(new ControllerEventInterceptor());
 		registry.addInterceptor(localeChangeInterceptor());
+		registry.addInterceptor(new ConditionalGetInterceptor(this.owners, this.vets, this.referenceData,
+				this.cacheManager))
+			.addPathPatterns("/owners/*", "/vets", "/vets.html");
 	}
 
 }
@@ -16,14 +16,12 @@
 package org.springframework.samples.petclinic.formatting.formatting;
 
 import org.springframework.format.Formatter;
-import org.springframework.samples.petclinic.domain.repository.PetTypeRepository;
+import org.springframework.samples.petclinic.domain.reference.ReferenceDataRegistry;
 import org.springframework.samples.petclinic.formatting.persistance.model.PetType;
 import org.springframework.stereotype.Component;
 
 import java.text.ParseException;
-import java.util.Collection;
 import java.util.Locale;
-import java.util.Objects;
 
 /**
  * Instructs Spring MVC on how to parse and print elements of type 'PetType'. Starting
@@ -38,10 +36,10 @@ import java.util.Objects;
 @Component
 public class PetTypeFormatter implements Formatter<PetType> {
 
-	private final PetTypeRepository types;
+	private final ReferenceDataRegistry referenceData;
 
-	public PetTypeFormatter(PetTypeRepository types) {
-		this.types = types;
+	public PetTypeFormatter(ReferenceDataRegistry referenceData) {
+		this.referenceData = referenceData;
 	}
 
 	@Override
@@ -52,13 +50,8 @@ public class PetTypeFormatter implements Formatter<PetType> {
 
 	@Override
 	public PetType parse(String text, Locale locale) throws ParseException {
-		Collection<PetType> findPetTypes = this.types.findPetTypes();
-		for (PetType type : findPetTypes) {
-			if (Objects.equals(type.getName(), text)) {
-				return type;
-			}
-		}
-		throw new ParseException("type not found: " + text, 0);
+		return this.referenceData.findPetType(text)
+			.orElseThrow(() -> new ParseException("type not found: " + text, 0));
 	}
 
 }
@@ -15,9 +15,14 @@
  */
 package org.springframework.samples.petclinic.formatting.persistance.model;
 
+import java.time.LocalDateTime;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.CurrentTimestamp;
+import org.hibernate.annotations.SourceType;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -36,6 +41,13 @@ public class PersonRelationEntity extends BaseRelationEntity {
 	@NotBlank
 	private @Nullable String lastName;
 
+	@Version
+	private @Nullable Integer version;
+
+	@CurrentTimestamp(source = SourceType.VM)
+	@Column(name = "last_modified")
+	private @Nullable LocalDateTime lastModified;
+
 	public @Nullable String getFirstName() {
 		return this.firstName;
 	}
@@ -52,4 +64,16 @@ public class PersonRelationEntity extends BaseRelationEntity {
 		this.lastName = lastName;
 	}
 
+	public @Nullable Integer getVersion() {
+		return this.version;
+	}
+
+	public void setVersion(@Nullable Integer version) {
+		this.version = version;
+	}
+
+	public @Nullable LocalDateTime getLastModified() {
+		return this.lastModified;
+	}
+
 }
@@ -15,7 +15,10 @@
  */
 package org.springframework.samples.petclinic.formatting.persistance.model;
 
+import org.springframework.samples.petclinic.domain.reference.ReferenceDataListener;
+
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Table;
 
 /**
@@ -23,6 +26,7 @@ import jakarta.persistence.Table;
  */
 @Entity
 @Table(name = "types")
+@EntityListeners(ReferenceDataListener.class)
 public class PetType extends NamedRelationEntity {
 
 }
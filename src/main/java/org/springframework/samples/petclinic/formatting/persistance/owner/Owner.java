@@ -15,24 +15,29 @@
  */
 package org.springframework.samples.petclinic.formatting.persistance.owner;
 
-import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Set;
 
 import org.springframework.core.style.ToStringCreator;
+import org.springframework.samples.petclinic.domain.search.OwnerSearchIndexListener;
 import org.springframework.samples.petclinic.formatting.persistance.model.PersonRelationEntity;
 import org.springframework.util.Assert;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.JoinColumn;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.OptimisticLock;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -47,8 +52,25 @@ import org.jspecify.annotations.Nullable;
  */
 @Entity
 @Table(name = "owners")
+@EntityListeners(OwnerSearchIndexListener.class)
+@NamedEntityGraph(name = Owner.PETS_GRAPH, attributeNodes = @NamedAttributeNode(value = "pets", subgraph = "pet"),
+		subgraphs = @NamedSubgraph(name = "pet", attributeNodes = @NamedAttributeNode("type")))
+@NamedEntityGraph(name = Owner.PETS_AND_VISITS_GRAPH,
+		attributeNodes = @NamedAttributeNode(value = "pets", subgraph = "pet"),
+		subgraphs = @NamedSubgraph(name = "pet",
+				attributeNodes = { @NamedAttributeNode("type"), @NamedAttributeNode("visits") }))
 public class Owner extends PersonRelationEntity {
 
+	/**
+	 * Entity graph loading the pets of an owner together with their types.
+	 */
+	public static final String PETS_GRAPH = "Owner.pets";
+
+	/**
+	 * Entity graph loading the pets of an owner together with their types and visits.
+	 */
+	public static final String PETS_AND_VISITS_GRAPH = "Owner.petsAndVisits";
+
 	@Column(name = "address")
 	@NotBlank
 	private @Nullable String address;
@@ -62,10 +84,16 @@ public class Owner extends PersonRelationEntity {
 	@Pattern(regexp = "\\d{10}", message = "{telephone.invalid}")
 	private @Nullable String telephone;
 
-	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
-	@JoinColumn(name = "owner_id")
+	// a Set rather than a List: fetching the visits of a bag of pets in the same join
+	// would repeat each pet once per visit; adding a pet does not change the owner row,
+	// so it does not increment the owner's version either
+	@OneToMany(mappedBy = "owner", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+	@OptimisticLock(excluded = true)
 	@OrderBy("name")
-	private final List<Pet> pets = new ArrayList<>();
+	private final Set<Pet> pets = new LinkedHashSet<>();
+
+	// rebuilt on the next lookup after it was discarded or went stale
+	private transient @Nullable PetIndex petIndex;
 
 	public @Nullable String getAddress() {
 		return this.address;
@@ -92,15 +120,33 @@ public class Owner extends PersonRelationEntity {
 	}
 
 	public List<Pet> getPets() {
-		return this.pets;
+		return List.copyOf(this.pets);
 	}
 
 	public void addPet(Pet pet) {
 		if (pet.isNew()) {
-			getPets().add(pet);
+			pet.setOwner(this);
+			this.pets.add(pet);
+			this.petIndex = null;
 		}
 	}
 
+	/**
+	 * Discard the pet lookups after a pet of this owner has been renamed.
+	 */
+	void petRenamed() {
+		this.petIndex = null;
+	}
+
+	private PetIndex getPetIndex() {
+		PetIndex index = this.petIndex;
+		if (index == null || !index.isCurrent(this.pets)) {
+			index = new PetIndex(this.pets);
+			this.petIndex = index;
+		}
+		return index;
+	}
+
 	/**
 	 * Return the Pet with the given name, or null if none found for this Owner.
 	 * @param name to test
@@ -116,15 +162,7 @@ public class Owner extends PersonRelationEntity {
 	 * @return the Pet with the given id, or null if no such Pet exists for this Owner
 	 */
 	public @Nullable Pet getPet(Integer id) {
-		for (Pet pet : getPets()) {
-			if (!pet.isNew()) {
-				Integer compId = pet.getId();
-				if (Objects.equals(compId, id)) {
-					return pet;
-				}
-			}
-		}
-		return null;
+		return getPetIndex().findById(id);
 	}
 
 	/**
@@ -134,15 +172,19 @@ public class Owner extends PersonRelationEntity {
 	 * @return the Pet with the given name, or null if no such Pet exists for this Owner
 	 */
 	public @Nullable Pet getPet(String name, boolean ignoreNew) {
-		for (Pet pet : getPets()) {
-			String compName = pet.getName();
-			if (compName != null && compName.equalsIgnoreCase(name)) {
-				if (!ignoreNew || !pet.isNew()) {
-					return pet;
-				}
-			}
-		}
-		return null;
+		return getPetIndex().findByName(name, ignoreNew);
+	}
+
+	/**
+	 * Return a Pet with the given name other than the Pet with the given id, or null if
+	 * none found for this Owner.
+	 * @param name to test
+	 * @param id of the Pet to leave out, or null to leave out none
+	 * @return a Pet with the given name and another id, or null if no such Pet exists for
+	 * this Owner
+	 */
+	public @Nullable Pet getOtherPet(String name, @Nullable Integer id) {
+		return getPetIndex().findOtherByName(name, id);
 	}
 
 	@Override
@@ -16,6 +16,7 @@
 package org.springframework.samples.petclinic.formatting.persistance.owner;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -32,6 +33,11 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.CurrentTimestamp;
+import org.hibernate.annotations.OptimisticLock;
+import org.hibernate.annotations.SourceType;
 import org.jspecify.annotations.Nullable;
 import org.springframework.samples.petclinic.formatting.persistance.model.PetType;
 
@@ -55,11 +61,33 @@ public class Pet extends NamedRelationEntity {
 	@JoinColumn(name = "type_id")
 	private @Nullable PetType type;
 
-	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
-	@JoinColumn(name = "pet_id")
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "owner_id")
+	private @Nullable Owner owner;
+
+	@Version
+	private @Nullable Integer version;
+
+	@CurrentTimestamp(source = SourceType.VM)
+	@Column(name = "last_modified")
+	private @Nullable LocalDateTime lastModified;
+
+	// visits are added without changing the pet row, nor its version
+	@OneToMany(mappedBy = "pet", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+	@OptimisticLock(excluded = true)
 	@OrderBy("date ASC")
 	private final Set<Visit> visits = new LinkedHashSet<>();
 
+	@Override
+	public void setName(@Nullable String name) {
+		super.setName(name);
+		// not through an owner that is not loaded, it has no lookups to discard then
+		Owner owner = this.owner;
+		if (owner != null && Hibernate.isInitialized(owner)) {
+			owner.petRenamed();
+		}
+	}
+
 	public void setBirthDate(@Nullable LocalDate birthDate) {
 		this.birthDate = birthDate;
 	}
@@ -76,12 +104,33 @@ public class Pet extends NamedRelationEntity {
 		this.type = type;
 	}
 
+	public @Nullable Owner getOwner() {
+		return this.owner;
+	}
+
+	public void setOwner(@Nullable Owner owner) {
+		this.owner = owner;
+	}
+
 	public Collection<Visit> getVisits() {
 		return this.visits;
 	}
 
 	public void addVisit(Visit visit) {
+		visit.setPet(this);
 		getVisits().add(visit);
 	}
 
+	public @Nullable Integer getVersion() {
+		return this.version;
+	}
+
+	public void setVersion(@Nullable Integer version) {
+		this.version = version;
+	}
+
+	public @Nullable LocalDateTime getLastModified() {
+		return this.lastModified;
+	}
+
 }
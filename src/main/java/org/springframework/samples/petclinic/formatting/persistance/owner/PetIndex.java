@@ -0,0 +1,123 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.formatting.persistance.owner;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Lookup of the pets of an {@link Owner} by id and by case-insensitive name, answering
+ * like a scan of the pets in their iteration order would.
+ * <p>
+ * An index is built from one collection of pets and stays valid while that collection
+ * keeps its size and none of its unsaved pets gets an id, see {@link #isCurrent}. Other
+ * changes, adding a pet or renaming one, must discard it.
+ * </p>
+ */
+final class PetIndex {
+
+	private final Collection<Pet> pets;
+
+	private final int size;
+
+	private final Map<Integer, Pet> byId = new HashMap<>();
+
+	private final Map<String, List<Pet>> byName = new HashMap<>();
+
+	private final List<Pet> newPets = new ArrayList<>(0);
+
+	PetIndex(Collection<Pet> pets) {
+		this.pets = pets;
+		this.size = pets.size();
+		for (Pet pet : pets) {
+			String name = pet.getName();
+			if (name != null) {
+				this.byName.computeIfAbsent(key(name), k -> new ArrayList<>(1)).add(pet);
+			}
+			if (pet.isNew()) {
+				this.newPets.add(pet);
+			}
+			else {
+				this.byId.putIfAbsent(pet.getId(), pet);
+			}
+		}
+	}
+
+	/**
+	 * Whether this index still reflects the given pets.
+	 * @param pets the current pets of the owner
+	 * @return {@code false} if the index must be rebuilt
+	 */
+	boolean isCurrent(Collection<Pet> pets) {
+		if (pets != this.pets || pets.size() != this.size) {
+			return false;
+		}
+		// ids are assigned when the pets are saved, without the owner noticing
+		for (Pet pet : this.newPets) {
+			if (!pet.isNew()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Nullable Pet findById(Integer id) {
+		return this.byId.get(id);
+	}
+
+	@Nullable Pet findByName(@Nullable String name, boolean ignoreNew) {
+		for (Pet pet : named(name)) {
+			if (!ignoreNew || !pet.isNew()) {
+				return pet;
+			}
+		}
+		return null;
+	}
+
+	@Nullable Pet findOtherByName(@Nullable String name, @Nullable Integer id) {
+		for (Pet pet : named(name)) {
+			if (id == null || !id.equals(pet.getId())) {
+				return pet;
+			}
+		}
+		return null;
+	}
+
+	private List<Pet> named(@Nullable String name) {
+		return (name != null) ? this.byName.getOrDefault(key(name), List.of()) : List.of();
+	}
+
+	/**
+	 * Return a key that is equal for two names if and only if they are equal ignoring
+	 * case in the sense of {@link String#equalsIgnoreCase}, which compares character by
+	 * character after upper and then lower casing them.
+	 */
+	private static String key(String name) {
+		StringBuilder key = new StringBuilder(name.length());
+		for (int i = 0; i < name.length();) {
+			int codePoint = name.codePointAt(i);
+			key.appendCodePoint(Character.toLowerCase(Character.toUpperCase(codePoint)));
+			i += Character.charCount(codePoint);
+		}
+		return key.toString();
+	}
+
+}
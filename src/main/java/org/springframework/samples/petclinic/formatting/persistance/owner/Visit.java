@@ -16,14 +16,21 @@
 package org.springframework.samples.petclinic.formatting.persistance.owner;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.samples.petclinic.formatting.persistance.model.BaseRelationEntity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.CurrentTimestamp;
+import org.hibernate.annotations.SourceType;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -43,6 +50,17 @@ public class Visit extends BaseRelationEntity {
 	@NotBlank
 	private @Nullable String description;
 
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "pet_id")
+	private @Nullable Pet pet;
+
+	@Version
+	private @Nullable Integer version;
+
+	@CurrentTimestamp(source = SourceType.VM)
+	@Column(name = "last_modified")
+	private @Nullable LocalDateTime lastModified;
+
 	/**
 	 * Creates a new instance of Visit for the current date
 	 */
@@ -66,4 +84,24 @@ public class Visit extends BaseRelationEntity {
 		this.description = description;
 	}
 
+	public @Nullable Pet getPet() {
+		return this.pet;
+	}
+
+	public void setPet(@Nullable Pet pet) {
+		this.pet = pet;
+	}
+
+	public @Nullable Integer getVersion() {
+		return this.version;
+	}
+
+	public void setVersion(@Nullable Integer version) {
+		this.version = version;
+	}
+
+	public @Nullable LocalDateTime getLastModified() {
+		return this.lastModified;
+	}
+
 }
@@ -15,9 +15,11 @@
  */
 package org.springframework.samples.petclinic.formatting.persistance.vet;
 
+import org.springframework.samples.petclinic.domain.reference.ReferenceDataListener;
 import org.springframework.samples.petclinic.formatting.persistance.model.NamedRelationEntity;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Table;
 
 /**
@@ -27,6 +29,7 @@ import jakarta.persistence.Table;
  */
 @Entity
 @Table(name = "specialties")
+@EntityListeners(ReferenceDataListener.class)
 public class Specialty extends NamedRelationEntity {
 
 }
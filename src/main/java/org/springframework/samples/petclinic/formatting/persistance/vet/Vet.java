@@ -19,7 +19,6 @@ import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.springframework.samples.petclinic.formatting.persistance.model.NamedRelationEntity;
 import org.springframework.samples.petclinic.formatting.persistance.model.PersonRelationEntity;
@@ -29,6 +28,8 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
 import jakarta.xml.bind.annotation.XmlElement;
 import org.jspecify.annotations.Nullable;
@@ -43,13 +44,23 @@ import org.jspecify.annotations.Nullable;
  */
 @Entity
 @Table(name = "vets")
+@NamedEntityGraph(name = Vet.SPECIALTIES_GRAPH, attributeNodes = @NamedAttributeNode("specialties"))
 public class Vet extends PersonRelationEntity {
 
-	@ManyToMany(fetch = FetchType.EAGER)
+	/**
+	 * Entity graph loading a vet together with its specialties.
+	 */
+	public static final String SPECIALTIES_GRAPH = "Vet.specialties";
+
+	@ManyToMany(fetch = FetchType.LAZY)
 	@JoinTable(name = "vet_specialties", joinColumns = @JoinColumn(name = "vet_id"),
 			inverseJoinColumns = @JoinColumn(name = "specialty_id"))
 	private @Nullable Set<Specialty> specialties;
 
+	// sorted once and shared by every caller until addSpecialty changes the specialties;
+	// vets are cached and rendered or serialized on every request for the vet list
+	private transient @Nullable List<Specialty> sortedSpecialties;
+
 	protected Set<Specialty> getSpecialtiesInternal() {
 		if (this.specialties == null) {
 			this.specialties = new HashSet<>();
@@ -57,11 +68,20 @@ public class Vet extends PersonRelationEntity {
 		return this.specialties;
 	}
 
+	/**
+	 * Return the specialties of this vet, sorted by name.
+	 * @return an immutable list, the same instance until a specialty is added
+	 */
 	@XmlElement
 	public List<Specialty> getSpecialties() {
-		return getSpecialtiesInternal().stream()
-			.sorted(Comparator.comparing(NamedRelationEntity::getName))
-			.collect(Collectors.toList());
+		List<Specialty> sorted = this.sortedSpecialties;
+		if (sorted == null) {
+			sorted = getSpecialtiesInternal().stream()
+				.sorted(Comparator.comparing(NamedRelationEntity::getName))
+				.toList();
+			this.sortedSpecialties = sorted;
+		}
+		return sorted;
 	}
 
 	public int getNrOfSpecialties() {
@@ -69,7 +89,9 @@ public class Vet extends PersonRelationEntity {
 	}
 
 	public void addSpecialty(Specialty specialty) {
-		getSpecialtiesInternal().add(specialty);
+		if (getSpecialtiesInternal().add(specialty)) {
+			this.sortedSpecialties = null;
+		}
 	}
 
 }
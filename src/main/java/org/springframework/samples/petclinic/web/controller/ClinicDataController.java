@@ -0,0 +1,91 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.web.controller;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.samples.petclinic.domain.transfer.ClinicDataExporter;
+import org.springframework.samples.petclinic.domain.transfer.ClinicDataImporter;
+import org.springframework.samples.petclinic.domain.transfer.ImportReport;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Bulk import and export of clinic data, in the JSON-lines format described in
+ * {@link org.springframework.samples.petclinic.domain.transfer.ClinicRecord}.
+ */
+@Controller
+class ClinicDataController {
+
+	private final ClinicDataImporter importer;
+
+	private final ClinicDataExporter exporter;
+
+	private final Duration exportTimeout;
+
+	public ClinicDataController(ClinicDataImporter importer, ClinicDataExporter exporter,
+			@Value("${petclinic.export.timeout:1h}") Duration exportTimeout) {
+		this.importer = importer;
+		this.exporter = exporter;
+		this.exportTimeout = exportTimeout;
+	}
+
+	/**
+	 * Imports the uploaded rows. The body is read as it arrives and is never held in
+	 * memory as a whole.
+	 * @param body the uploaded JSON lines
+	 * @return the number of imported rows and the rejected ones
+	 */
+	@PostMapping(path = "/clinic/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+	public @ResponseBody ImportReport importData(InputStream body) {
+		return this.importer.importRecords(new InputStreamReader(body, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Exports all owners, pets and visits. Rows are written while they are read from the
+	 * database, so the response starts right away and is never held in memory as a
+	 * whole. The export takes as long as the data set needs, so it gets its own timeout
+	 * instead of the default one of asynchronous requests.
+	 * @param request the current request
+	 * @return the JSON lines, streamed
+	 */
+	@GetMapping(path = "/clinic/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> exportData(HttpServletRequest request) {
+		AsyncWebRequest asyncRequest = WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest();
+		if (asyncRequest != null) {
+			asyncRequest.setTimeout(this.exportTimeout.toMillis());
+		}
+		return ResponseEntity.ok()
+			.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"petclinic.jsonl\"")
+			.body(this.exporter::export);
+	}
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.web.controller;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+import org.springframework.core.retry.RetryException;
+import org.springframework.core.retry.RetryPolicy;
+import org.springframework.core.retry.RetryTemplate;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.samples.petclinic.domain.repository.OwnerRepository;
+import org.springframework.samples.petclinic.formatting.persistance.owner.Owner;
+
+/**
+ * Saves owner aggregates under optimistic locking. The owner and its pets carry the
+ * version they were loaded with, a form posts back the version it was rendered with, and
+ * saving fails if another transaction has saved one of them in between.
+ * <p>
+ * A failed save is retried a bounded number of times: the owner is loaded again and the
+ * change applied to the fresh aggregate. The change itself decides whether that is still
+ * correct, by comparing the version its form was rendered with to the reloaded one; a
+ * write that only raced with an unrelated one, for example a pet edit with an owner
+ * edit, goes through, while an edit of a row changed meanwhile is reported as a
+ * conflict instead of silently overwriting it.
+ * </p>
+ */
+final class OwnerAggregateWriter {
+
+	private static final RetryPolicy RELOAD_POLICY = RetryPolicy.builder()
+		.includes(OptimisticLockingFailureException.class)
+		.maxAttempts(3)
+		.delay(Duration.ofMillis(20))
+		.jitter(Duration.ofMillis(10))
+		.build();
+
+	private final OwnerRepository owners;
+
+	private final RetryTemplate retryTemplate = new RetryTemplate(RELOAD_POLICY);
+
+	OwnerAggregateWriter(OwnerRepository owners) {
+		this.owners = owners;
+	}
+
+	/**
+	 * Save an owner loaded earlier in the request and changed since.
+	 * @param ownerId the id of the owner
+	 * @param owner the changed owner
+	 * @param loader loads the owner again, with the associations the change needs
+	 * @param reapply applies the change to a reloaded owner, or returns {@code false} if
+	 * the reloaded owner has been changed in a way that conflicts with it
+	 * @return empty if the owner was saved, otherwise the current owner the change
+	 * conflicts with, which has not been changed
+	 */
+	Optional<Owner> save(int ownerId, Owner owner, IntFunction<Optional<Owner>> loader, Predicate<Owner> reapply) {
+		AtomicBoolean reload = new AtomicBoolean();
+		try {
+			return this.retryTemplate.execute(() -> {
+				Owner changed = owner;
+				if (reload.getAndSet(true)) {
+					changed = load(loader, ownerId);
+					if (!reapply.test(changed)) {
+						return Optional.of(changed);
+					}
+				}
+				this.owners.save(changed);
+				return Optional.<Owner>empty();
+			});
+		}
+		catch (RetryException ex) {
+			if (ex.getCause() instanceof OptimisticLockingFailureException) {
+				// still racing after the last retry, let the user try again
+				return Optional.of(load(loader, ownerId));
+			}
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new IllegalStateException(ex.getCause());
+		}
+	}
+
+	private static Owner load(IntFunction<Optional<Owner>> loader, int ownerId) {
+		return loader.apply(ownerId)
+			.orElseThrow(() -> new IllegalArgumentException("Owner not found with id: " + ownerId
+					+ ". Please ensure the ID is correct " + "and the owner exists in the database."));
+	}
+
+}
@@ -15,14 +15,26 @@
  */
 package org.springframework.samples.petclinic.web.controller;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpStatus;
+import org.springframework.samples.petclinic.domain.repository.OwnerPetName;
 import org.springframework.samples.petclinic.domain.repository.OwnerRepository;
+import org.springframework.samples.petclinic.domain.repository.OwnerSummary;
+import org.springframework.samples.petclinic.domain.search.OwnerSearchIndex;
 import org.springframework.samples.petclinic.formatting.persistance.owner.Owner;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -34,8 +46,11 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.ModelAndView;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.jspecify.annotations.Nullable;
 
@@ -53,10 +68,28 @@ class OwnerController {
 
 	private static final String VIEWS_OWNER_CREATE_OR_UPDATE_FORM = "owners/createOrUpdateOwnerForm";
 
+	private static final String OWNER_DETAILS = "/owners/{ownerId}";
+
+	private static final int PAGE_SIZE = 5;
+
 	private final OwnerRepository owners;
 
-	public OwnerController(OwnerRepository owners) {
+	private final OwnerIdentityMap ownersInRequest;
+
+	private final OwnerAggregateWriter ownerWriter;
+
+	private final PaginationMode paginationMode;
+
+	private final @Nullable OwnerSearchIndex searchIndex;
+
+	public OwnerController(OwnerRepository owners,
+			@Value("${petclinic.pagination.mode:offset}") PaginationMode paginationMode,
+			ObjectProvider<OwnerSearchIndex> searchIndex) {
 		this.owners = owners;
+		this.ownersInRequest = new OwnerIdentityMap(owners);
+		this.ownerWriter = new OwnerAggregateWriter(owners);
+		this.paginationMode = paginationMode;
+		this.searchIndex = searchIndex.getIfAvailable();
 	}
 
 	@InitBinder
@@ -64,12 +97,22 @@ class OwnerController {
 		dataBinder.setDisallowedFields("id");
 	}
 
+	/**
+	 * Load the owner of the request. The owner details page shows the whole aggregate, so
+	 * for that route the owner is loaded with its pets and visits right away and the
+	 * handler reuses it instead of loading the owner a second time.
+	 */
 	@ModelAttribute("owner")
-	public Owner findOwner(@PathVariable(name = "ownerId", required = false) @Nullable Integer ownerId) {
-		return ownerId == null ? new Owner()
-				: this.owners.findById(ownerId)
-					.orElseThrow(() -> new IllegalArgumentException("Owner not found with id: " + ownerId
-							+ ". Please ensure the ID is correct " + "and the owner exists in the database."));
+	public Owner findOwner(@PathVariable(name = "ownerId", required = false) @Nullable Integer ownerId,
+			HttpServletRequest request) {
+		if (ownerId == null) {
+			return new Owner();
+		}
+		boolean details = OWNER_DETAILS.equals(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+		Optional<Owner> owner = details ? this.ownersInRequest.findWithPetsAndVisitsById(ownerId)
+				: this.ownersInRequest.findById(ownerId);
+		return owner.orElseThrow(() -> new IllegalArgumentException("Owner not found with id: " + ownerId
+				+ ". Please ensure the ID is correct " + "and the owner exists in the database."));
 	}
 
 	@GetMapping("/owners/new")
@@ -95,8 +138,9 @@ class OwnerController {
 	}
 
 	@GetMapping("/owners")
-	public String processFindForm(@RequestParam(defaultValue = "1") int page, Owner owner, BindingResult result,
-			Model model) {
+	public String processFindForm(@RequestParam(defaultValue = "1") int page,
+			@RequestParam(required = false) @Nullable String afterLastName,
+			@RequestParam(defaultValue = "0") int afterId, Owner owner, BindingResult result, Model model) {
 		// allow parameterless GET request for /owners to return all records
 		String lastName = owner.getLastName();
 		if (lastName == null) {
@@ -104,36 +148,80 @@ class OwnerController {
 		}
 
 		// find owners by last name
-		Page<Owner> ownersResults = findPaginatedForOwnersLastName(page, lastName);
+		Slice<OwnerSummary> ownersResults = findPaginatedForOwnersLastName(page, lastName, afterLastName, afterId);
 		if (ownersResults.isEmpty()) {
 			// no owners found
 			result.rejectValue("lastName", "notFound", "not found");
 			return "owners/findOwners";
 		}
 
-		if (ownersResults.getTotalElements() == 1) {
+		if (ownersResults.isFirst() && ownersResults.isLast() && ownersResults.getNumberOfElements() == 1) {
 			// 1 owner found
-			owner = ownersResults.iterator().next();
-			return "redirect:/owners/" + owner.getId();
+			OwnerSummary found = ownersResults.iterator().next();
+			return "redirect:/owners/" + found.id();
 		}
 
 		// multiple owners found
-		return addPaginationModel(page, model, ownersResults);
+		return addPaginationModel(page, lastName, model, withPetNames(ownersResults));
 	}
 
-	private String addPaginationModel(int page, Model model, Page<Owner> paginated) {
-		List<Owner> listOwners = paginated.getContent();
+	private String addPaginationModel(int page, String lastName, Model model, Slice<OwnerSummary> paginated) {
+		List<OwnerSummary> listOwners = paginated.getContent();
+		model.addAttribute("paginationMode", this.paginationMode.name().toLowerCase());
 		model.addAttribute("currentPage", page);
-		model.addAttribute("totalPages", paginated.getTotalPages());
-		model.addAttribute("totalItems", paginated.getTotalElements());
+		model.addAttribute("hasNext", paginated.hasNext());
+		model.addAttribute("lastName", lastName);
+		if (paginated instanceof Page<OwnerSummary> counted) {
+			model.addAttribute("totalPages", counted.getTotalPages());
+			model.addAttribute("totalItems", counted.getTotalElements());
+		}
+		OwnerSummary last = listOwners.get(listOwners.size() - 1);
+		model.addAttribute("nextLastName", last.lastName());
+		model.addAttribute("nextId", last.id());
 		model.addAttribute("listOwners", listOwners);
 		return "owners/ownersList";
 	}
 
-	private Page<Owner> findPaginatedForOwnersLastName(int page, String lastname) {
-		int pageSize = 5;
-		Pageable pageable = PageRequest.of(page - 1, pageSize);
-		return owners.findByLastNameStartingWith(lastname, pageable);
+	private Slice<OwnerSummary> findPaginatedForOwnersLastName(int page, String lastname,
+			@Nullable String afterLastName, int afterId) {
+		Pageable pageable = PageRequest.of(page - 1, PAGE_SIZE);
+		// read one extra row with keyset pagination to know whether there is a next page
+		String after = afterLastName != null ? afterLastName : "";
+		Limit limit = Limit.of(PAGE_SIZE + 1);
+		if (this.searchIndex != null && this.searchIndex.isSearchable(lastname)) {
+			return switch (this.paginationMode) {
+				case OFFSET -> this.searchIndex.search(lastname, pageable);
+				case SLICE -> {
+					Page<OwnerSummary> found = this.searchIndex.search(lastname, pageable);
+					yield new SliceImpl<>(found.getContent(), pageable, found.hasNext());
+				}
+				case KEYSET -> keysetSlice(this.searchIndex.searchAfter(lastname, after, afterId, limit), pageable);
+			};
+		}
+		return switch (this.paginationMode) {
+			case OFFSET -> owners.findSummariesByLastNameStartingWith(lastname, pageable);
+			case SLICE -> owners.findSummarySliceByLastNameStartingWith(lastname, pageable);
+			case KEYSET -> keysetSlice(
+					owners.findSummariesByLastNameStartingWithAfter(lastname, after, afterId, limit), pageable);
+		};
+	}
+
+	private static Slice<OwnerSummary> keysetSlice(List<OwnerSummary> found, Pageable pageable) {
+		boolean hasNext = found.size() > PAGE_SIZE;
+		return new SliceImpl<>(hasNext ? found.subList(0, PAGE_SIZE) : found, pageable, hasNext);
+	}
+
+	/**
+	 * Adds the pet names to a page of owners with one additional query, however many
+	 * pets or visits the owners have.
+	 */
+	private Slice<OwnerSummary> withPetNames(Slice<OwnerSummary> paginated) {
+		List<Integer> ownerIds = paginated.map(OwnerSummary::id).getContent();
+		Map<Integer, List<String>> petNames = new HashMap<>();
+		for (OwnerPetName petName : this.owners.findPetNamesByOwnerIds(ownerIds)) {
+			petNames.computeIfAbsent(petName.ownerId(), id -> new ArrayList<>()).add(petName.name());
+		}
+		return paginated.map(summary -> summary.withPets(petNames.getOrDefault(summary.id(), List.of())));
 	}
 
 	@GetMapping("/owners/{ownerId}/edit")
@@ -143,7 +231,7 @@ class OwnerController {
 
 	@PostMapping("/owners/{ownerId}/edit")
 	public String processUpdateOwnerForm(@Valid Owner owner, BindingResult result, @PathVariable("ownerId") int ownerId,
-			RedirectAttributes redirectAttributes) {
+			RedirectAttributes redirectAttributes, HttpServletResponse response) {
 		if (result.hasErrors()) {
 			redirectAttributes.addFlashAttribute("error", "There was an error in updating the owner.");
 			return VIEWS_OWNER_CREATE_OR_UPDATE_FORM;
@@ -156,22 +244,36 @@ class OwnerController {
 		}
 
 		owner.setId(ownerId);
-		this.owners.save(owner);
+		Optional<Owner> conflict = this.ownerWriter.save(ownerId, owner, this.owners::findById, current -> {
+			if (!Objects.equals(current.getVersion(), owner.getVersion())) {
+				return false;
+			}
+			current.setFirstName(owner.getFirstName());
+			current.setLastName(owner.getLastName());
+			current.setAddress(owner.getAddress());
+			current.setCity(owner.getCity());
+			current.setTelephone(owner.getTelephone());
+			return true;
+		});
+		if (conflict.isPresent()) {
+			// submitting the form again overwrites the concurrent change
+			owner.setVersion(conflict.get().getVersion());
+			result.reject("conflict", "changed by someone else");
+			response.setStatus(HttpStatus.CONFLICT.value());
+			return VIEWS_OWNER_CREATE_OR_UPDATE_FORM;
+		}
 		redirectAttributes.addFlashAttribute("message", "Owner Values Updated");
 		return "redirect:/owners/{ownerId}";
 	}
 
 	/**
 	 * Custom handler for displaying an owner.
-	 * @param ownerId the ID of the owner to display
+	 * @param owner the owner to display, loaded with its pets and visits
 	 * @return a ModelMap with the model attributes for the view
 	 */
-	@GetMapping("/owners/{ownerId}")
-	public ModelAndView showOwner(@PathVariable("ownerId") int ownerId) {
+	@GetMapping(OWNER_DETAILS)
+	public ModelAndView showOwner(@ModelAttribute("owner") Owner owner) {
 		ModelAndView mav = new ModelAndView("owners/ownerDetails");
-		Optional<Owner> optionalOwner = this.owners.findById(ownerId);
-		Owner owner = optionalOwner.orElseThrow(() -> new IllegalArgumentException(
-				"Owner not found with id: " + ownerId + ". Please ensure the ID is correct "));
 		mav.addObject(owner);
 		return mav;
 	}
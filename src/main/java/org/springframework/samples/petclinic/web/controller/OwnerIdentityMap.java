@@ -0,0 +1,111 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.web.controller;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntFunction;
+
+import org.springframework.samples.petclinic.domain.repository.OwnerRepository;
+import org.springframework.samples.petclinic.formatting.persistance.owner.Owner;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Loads owners by id at most once per request, so that the {@code @ModelAttribute}
+ * methods and the handler of a request share one owner aggregate. There is no open
+ * session in view to do this, the loaded owners are kept as a request attribute.
+ * <p>
+ * An owner loaded with more associations also serves lookups that need fewer: an owner
+ * loaded with its pets and visits is reused when only its pets are asked for, but not
+ * the other way round. Outside of a request every lookup goes to the repository.
+ * </p>
+ */
+final class OwnerIdentityMap {
+
+	private static final String ATTRIBUTE = OwnerIdentityMap.class.getName() + ".owners";
+
+	private final OwnerRepository owners;
+
+	OwnerIdentityMap(OwnerRepository owners) {
+		this.owners = owners;
+	}
+
+	/**
+	 * Return the owner without its pets.
+	 */
+	Optional<Owner> findById(int ownerId) {
+		return find(ownerId, Depth.OWNER, this.owners::findById);
+	}
+
+	/**
+	 * Return the owner with its pets and their types.
+	 */
+	Optional<Owner> findWithPetsById(int ownerId) {
+		return find(ownerId, Depth.PETS, this.owners::findWithPetsById);
+	}
+
+	/**
+	 * Return the owner with its pets, their types and their visits.
+	 */
+	Optional<Owner> findWithPetsAndVisitsById(int ownerId) {
+		return find(ownerId, Depth.PETS_AND_VISITS, this.owners::findWithPetsAndVisitsById);
+	}
+
+	private Optional<Owner> find(int ownerId, Depth depth, IntFunction<Optional<Owner>> loader) {
+		Map<Integer, Loaded> loaded = loadedInRequest();
+		if (loaded == null) {
+			return loader.apply(ownerId);
+		}
+		Loaded previous = loaded.get(ownerId);
+		if (previous != null && previous.depth().compareTo(depth) >= 0) {
+			return previous.owner();
+		}
+		Optional<Owner> owner = loader.apply(ownerId);
+		loaded.put(ownerId, new Loaded(depth, owner));
+		return owner;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static @Nullable Map<Integer, Loaded> loadedInRequest() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes == null) {
+			return null;
+		}
+		Object loaded = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		if (loaded == null) {
+			loaded = new HashMap<Integer, Loaded>();
+			attributes.setAttribute(ATTRIBUTE, loaded, RequestAttributes.SCOPE_REQUEST);
+		}
+		return (Map<Integer, Loaded>) loaded;
+	}
+
+	/**
+	 * Associations loaded with an owner, from fewest to most.
+	 */
+	private enum Depth {
+
+		OWNER, PETS, PETS_AND_VISITS
+
+	}
+
+	private record Loaded(Depth depth, Optional<Owner> owner) {
+	}
+
+}
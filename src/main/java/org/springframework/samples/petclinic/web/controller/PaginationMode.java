@@ -0,0 +1,41 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.web.controller;
+
+/**
+ * How the owner and vet lists are paged, selected with the
+ * <code>petclinic.pagination.mode</code> property.
+ */
+enum PaginationMode {
+
+	/**
+	 * Numbered pages using OFFSET, plus a count query for the total number of pages.
+	 */
+	OFFSET,
+
+	/**
+	 * Numbered pages using OFFSET, without a count query; only tells whether a next page
+	 * exists.
+	 */
+	SLICE,
+
+	/**
+	 * Pages that continue after the last (last name, id) seen, so deep pages cost the
+	 * same as the first one. Only first and next links are offered.
+	 */
+	KEYSET
+
+}
@@ -20,8 +20,9 @@ import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.samples.petclinic.domain.reference.ReferenceDataRegistry;
 import org.springframework.samples.petclinic.domain.repository.OwnerRepository;
-import org.springframework.samples.petclinic.domain.repository.PetTypeRepository;
 import org.springframework.samples.petclinic.formatting.persistance.owner.Owner;
 import org.springframework.samples.petclinic.formatting.persistance.owner.Pet;
 import org.springframework.samples.petclinic.formatting.persistance.model.PetType;
@@ -39,6 +40,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.jspecify.annotations.Nullable;
 
@@ -58,21 +60,27 @@ class PetController {
 
 	private final OwnerRepository owners;
 
-	private final PetTypeRepository types;
+	private final OwnerIdentityMap ownersInRequest;
 
-	public PetController(OwnerRepository owners, PetTypeRepository types) {
+	private final OwnerAggregateWriter ownerWriter;
+
+	private final ReferenceDataRegistry referenceData;
+
+	public PetController(OwnerRepository owners, ReferenceDataRegistry referenceData) {
 		this.owners = owners;
-		this.types = types;
+		this.ownersInRequest = new OwnerIdentityMap(owners);
+		this.ownerWriter = new OwnerAggregateWriter(owners);
+		this.referenceData = referenceData;
 	}
 
 	@ModelAttribute("types")
 	public Collection<PetType> populatePetTypes() {
-		return this.types.findPetTypes();
+		return this.referenceData.getPetTypes();
 	}
 
 	@ModelAttribute("owner")
 	public Owner findOwner(@PathVariable("ownerId") int ownerId) {
-		Optional<Owner> optionalOwner = this.owners.findById(ownerId);
+		Optional<Owner> optionalOwner = this.ownersInRequest.findWithPetsById(ownerId);
 		Owner owner = optionalOwner.orElseThrow(() -> new IllegalArgumentException(
 				"Owner not found with id: " + ownerId + ". Please ensure the ID is correct "));
 		return owner;
@@ -86,7 +94,7 @@ class PetController {
 			return new Pet();
 		}
 
-		Optional<Owner> optionalOwner = this.owners.findById(ownerId);
+		Optional<Owner> optionalOwner = this.ownersInRequest.findWithPetsById(ownerId);
 		Owner owner = optionalOwner.orElseThrow(() -> new IllegalArgumentException(
 				"Owner not found with id: " + ownerId + ". Please ensure the ID is correct "));
 		return owner.getPet(petId);
@@ -94,11 +102,13 @@ class PetController {
 
 	@InitBinder("owner")
 	public void initOwnerBinder(WebDataBinder dataBinder) {
-		dataBinder.setDisallowedFields("id");
+		// the version submitted with the pet form is the pet's, not the owner's
+		dataBinder.setDisallowedFields("id", "version");
 	}
 
 	@InitBinder("pet")
 	public void initPetBinder(WebDataBinder dataBinder) {
+		dataBinder.setDisallowedFields("owner*");
 		dataBinder.setValidator(new PetValidator());
 	}
 
@@ -110,8 +120,8 @@ class PetController {
 	}
 
 	@PostMapping("/pets/new")
-	public String processCreationForm(Owner owner, @Valid Pet pet, BindingResult result,
-			RedirectAttributes redirectAttributes) {
+	public String processCreationForm(@PathVariable("ownerId") int ownerId, Owner owner, @Valid Pet pet,
+			BindingResult result, RedirectAttributes redirectAttributes, HttpServletResponse response) {
 
 		if (StringUtils.hasText(pet.getName()) && pet.isNew() && owner.getPet(pet.getName(), true) != null)
 			result.rejectValue("name", "duplicate", "already exists");
@@ -126,7 +136,18 @@ class PetController {
 		}
 
 		owner.addPet(pet);
-		this.owners.save(owner);
+		Optional<Owner> conflict = this.ownerWriter.save(ownerId, owner, this.owners::findWithPetsById, current -> {
+			if (current.getPet(pet.getName(), true) != null) {
+				return false;
+			}
+			current.addPet(pet);
+			return true;
+		});
+		if (conflict.isPresent()) {
+			result.rejectValue("name", "duplicate", "already exists");
+			response.setStatus(HttpStatus.CONFLICT.value());
+			return VIEWS_PETS_CREATE_OR_UPDATE_FORM;
+		}
 		redirectAttributes.addFlashAttribute("message", "New Pet has been Added");
 		return "redirect:/owners/{ownerId}";
 	}
@@ -137,17 +158,15 @@ class PetController {
 	}
 
 	@PostMapping("/pets/{petId}/edit")
-	public String processUpdateForm(Owner owner, @Valid Pet pet, BindingResult result,
-			RedirectAttributes redirectAttributes) {
+	public String processUpdateForm(@PathVariable("ownerId") int ownerId, Owner owner, @Valid Pet pet,
+			BindingResult result, RedirectAttributes redirectAttributes, HttpServletResponse response) {
 
 		String petName = pet.getName();
 
-		// checking if the pet name already exists for the owner
-		if (StringUtils.hasText(petName)) {
-			Pet existingPet = owner.getPet(petName, false);
-			if (existingPet != null && !Objects.equals(existingPet.getId(), pet.getId())) {
-				result.rejectValue("name", "duplicate", "already exists");
-			}
+		// checking if another pet of the owner has that name; the edited pet is one of the
+		// owner's pets, already holding the new name
+		if (StringUtils.hasText(petName) && owner.getOtherPet(petName, pet.getId()) != null) {
+			result.rejectValue("name", "duplicate", "already exists");
 		}
 
 		LocalDate currentDate = LocalDate.now();
@@ -159,20 +178,44 @@ class PetController {
 			return VIEWS_PETS_CREATE_OR_UPDATE_FORM;
 		}
 
-		updatePetDetails(owner, pet);
+		Optional<Owner> conflict = updatePetDetails(ownerId, owner, pet);
+		if (conflict.isPresent()) {
+			// submitting the form again overwrites the concurrent change
+			Pet current = conflict.get().getPet(Objects.requireNonNull(pet.getId()));
+			pet.setVersion((current != null) ? current.getVersion() : null);
+			result.reject("conflict", "changed by someone else");
+			response.setStatus(HttpStatus.CONFLICT.value());
+			return VIEWS_PETS_CREATE_OR_UPDATE_FORM;
+		}
 		redirectAttributes.addFlashAttribute("message", "Pet details has been edited");
 		return "redirect:/owners/{ownerId}";
 	}
 
 	/**
-	 * Updates the pet details if it exists or adds a new pet to the owner.
+	 * Updates the pet details if it exists or adds a new pet to the owner. If the owner
+	 * was saved concurrently, the details are applied again to the reloaded owner unless
+	 * the pet itself has changed since the form was rendered.
+	 * @param ownerId The id of the owner
 	 * @param owner The owner of the pet
 	 * @param pet The pet with updated details
+	 * @return the current owner if the pet was changed concurrently, empty if saved
 	 */
-	private void updatePetDetails(Owner owner, Pet pet) {
+	private Optional<Owner> updatePetDetails(int ownerId, Owner owner, Pet pet) {
 		Integer id = pet.getId();
 		Assert.state(id != null, "'pet.getId()' must not be null");
-		Pet existingPet = owner.getPet(id);
+		applyPetDetails(owner, pet);
+		return this.ownerWriter.save(ownerId, owner, this.owners::findWithPetsById, current -> {
+			Pet currentPet = current.getPet(id);
+			if (currentPet == null || !Objects.equals(currentPet.getVersion(), pet.getVersion())) {
+				return false;
+			}
+			applyPetDetails(current, pet);
+			return true;
+		});
+	}
+
+	private static void applyPetDetails(Owner owner, Pet pet) {
+		Pet existingPet = owner.getPet(Objects.requireNonNull(pet.getId()));
 		if (existingPet != null) {
 			// Update existing pet's properties
 			existingPet.setName(pet.getName());
@@ -182,7 +225,6 @@ class PetController {
 		else {
 			owner.addPet(pet);
 		}
-		this.owners.save(owner);
 	}
 
 }
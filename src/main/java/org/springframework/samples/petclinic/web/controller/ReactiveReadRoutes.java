@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.web.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.samples.petclinic.domain.repository.OwnerSummary;
+import org.springframework.samples.petclinic.domain.repository.ReactiveClinicQueries;
+import org.springframework.samples.petclinic.domain.repository.VetSummary;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Functional WebFlux routes of the read-only API for kiosk and mobile clients, served
+ * next to the MVC controllers on a port of their own:
+ * <ul>
+ * <li><code>GET /api/vets</code>: the vets with their specialties, the data of
+ * <code>/vets</code></li>
+ * <li><code>GET /api/owners?lastName=</code>: the owners whose last name starts with the
+ * given name, with the names of their pets</li>
+ * <li><code>GET /api/owners/{ownerId}</code>: a single owner</li>
+ * </ul>
+ * Lists are written as a JSON array, or one JSON document per line with
+ * <code>Accept: application/x-ndjson</code>; either way they are streamed at the pace
+ * the client reads them.
+ */
+public final class ReactiveReadRoutes {
+
+	private ReactiveReadRoutes() {
+	}
+
+	public static RouterFunction<ServerResponse> routes(ReactiveClinicQueries queries) {
+		return RouterFunctions.route()
+			.GET("/api/vets", request -> stream(request, queries.findVets(), VetSummary.class))
+			.GET("/api/owners/{ownerId}", request -> showOwner(request, queries))
+			.GET("/api/owners",
+					request -> stream(request,
+							queries.findOwnersByLastName(request.queryParam("lastName").orElse("")),
+							OwnerSummary.class))
+			.build();
+	}
+
+	private static Mono<ServerResponse> showOwner(ServerRequest request, ReactiveClinicQueries queries) {
+		int ownerId;
+		try {
+			ownerId = Integer.parseInt(request.pathVariable("ownerId"));
+		}
+		catch (NumberFormatException ex) {
+			return ServerResponse.badRequest().build();
+		}
+		return queries.findOwner(ownerId)
+			.flatMap(owner -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(owner))
+			.switchIfEmpty(ServerResponse.notFound().build());
+	}
+
+	private static <T> Mono<ServerResponse> stream(ServerRequest request, Flux<T> body, Class<T> type) {
+		MediaType mediaType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+				? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+		return ServerResponse.ok().contentType(mediaType).body(body, type);
+	}
+
+}
@@ -17,9 +17,14 @@ package org.springframework.samples.petclinic.web.controller;
 
 import java.util.List;
 
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.samples.petclinic.domain.Vets;
 import org.springframework.samples.petclinic.domain.repository.VetRepository;
 import org.springframework.samples.petclinic.formatting.persistance.vet.Vet;
@@ -38,35 +43,61 @@ import org.springframework.web.bind.annotation.ResponseBody;
 @Controller
 class VetController {
 
+	private static final int PAGE_SIZE = 5;
+
 	private final VetRepository vetRepository;
 
-	public VetController(VetRepository vetRepository) {
+	private final PaginationMode paginationMode;
+
+	public VetController(VetRepository vetRepository,
+			@Value("${petclinic.pagination.mode:offset}") PaginationMode paginationMode) {
 		this.vetRepository = vetRepository;
+		this.paginationMode = paginationMode;
 	}
 
 	@GetMapping("/vets.html")
-	public String showVetList(@RequestParam(defaultValue = "1") int page, Model model) {
+	public String showVetList(@RequestParam(defaultValue = "1") int page,
+			@RequestParam(required = false) @Nullable String afterLastName,
+			@RequestParam(defaultValue = "0") int afterId, Model model) {
 		// Here we are returning an object of type 'Vets' rather than a collection of Vet
 		// objects so it is simpler for Object-Xml mapping
 		Vets vets = new Vets();
-		Page<Vet> paginated = findPaginated(page);
+		Slice<Vet> paginated = findPaginated(page, afterLastName, afterId);
 		vets.getVetList().addAll(paginated.toList());
 		return addPaginationModel(page, paginated, model);
 	}
 
-	private String addPaginationModel(int page, Page<Vet> paginated, Model model) {
+	private String addPaginationModel(int page, Slice<Vet> paginated, Model model) {
 		List<Vet> listVets = paginated.getContent();
+		model.addAttribute("paginationMode", this.paginationMode.name().toLowerCase());
 		model.addAttribute("currentPage", page);
-		model.addAttribute("totalPages", paginated.getTotalPages());
-		model.addAttribute("totalItems", paginated.getTotalElements());
+		model.addAttribute("hasNext", paginated.hasNext());
+		if (paginated instanceof Page<Vet> counted) {
+			model.addAttribute("totalPages", counted.getTotalPages());
+			model.addAttribute("totalItems", counted.getTotalElements());
+		}
+		if (!listVets.isEmpty()) {
+			Vet last = listVets.get(listVets.size() - 1);
+			model.addAttribute("nextLastName", last.getLastName());
+			model.addAttribute("nextId", last.getId());
+		}
 		model.addAttribute("listVets", listVets);
 		return "vets/vetList";
 	}
 
-	private Page<Vet> findPaginated(int page) {
-		int pageSize = 5;
-		Pageable pageable = PageRequest.of(page - 1, pageSize);
-		return vetRepository.findAll(pageable);
+	private Slice<Vet> findPaginated(int page, @Nullable String afterLastName, int afterId) {
+		Pageable pageable = PageRequest.of(page - 1, PAGE_SIZE);
+		return switch (this.paginationMode) {
+			case OFFSET -> vetRepository.findAll(pageable);
+			case SLICE -> vetRepository.findSliceBy(pageable);
+			case KEYSET -> {
+				// read one extra row to know whether there is a next page
+				String after = afterLastName != null ? afterLastName : "";
+				List<Vet> found = vetRepository.findAfter(after, afterId, Limit.of(PAGE_SIZE + 1));
+				boolean hasNext = found.size() > PAGE_SIZE;
+				yield new SliceImpl<>(hasNext ? found.subList(0, PAGE_SIZE) : found, pageable, hasNext);
+			}
+		};
 	}
 
 	@GetMapping({ "/vets" })
@@ -19,6 +19,8 @@ import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.samples.petclinic.domain.repository.OwnerRepository;
+import org.springframework.samples.petclinic.domain.repository.PetRepository;
+import org.springframework.samples.petclinic.domain.repository.VisitRepository;
 import org.springframework.samples.petclinic.formatting.persistance.owner.Owner;
 import org.springframework.samples.petclinic.formatting.persistance.owner.Pet;
 import org.springframework.samples.petclinic.formatting.persistance.owner.Visit;
@@ -27,7 +29,6 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.InitBinder;
-import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 
@@ -45,28 +46,36 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 @Controller
 class VisitController {
 
-	private final OwnerRepository owners;
+	private static final String VIEWS_VISIT_CREATE_FORM = "pets/createOrUpdateVisitForm";
 
-	public VisitController(OwnerRepository owners) {
-		this.owners = owners;
+	private final OwnerIdentityMap owners;
+
+	private final PetRepository pets;
+
+	private final VisitRepository visits;
+
+	public VisitController(OwnerRepository owners, PetRepository pets, VisitRepository visits) {
+		this.owners = new OwnerIdentityMap(owners);
+		this.pets = pets;
+		this.visits = visits;
 	}
 
 	@InitBinder
 	public void setAllowedFields(WebDataBinder dataBinder) {
-		dataBinder.setDisallowedFields("id");
+		dataBinder.setDisallowedFields("id", "pet*");
 	}
 
 	/**
-	 * Called before each and every @RequestMapping annotated method. 2 goals: - Make sure
-	 * we always have fresh data - Since we do not use the session scope, make sure that
-	 * Pet object always has an id (Even though id is not part of the form fields)
-	 * @param petId
-	 * @return Pet
+	 * Loads the owner and the pet with its previous visits for rendering the visit form,
+	 * and adds the given visit to the pet. Only needed when the form is shown: a valid
+	 * visit is saved without loading the owner aggregate.
+	 * @param ownerId the id of the owner
+	 * @param petId the id of the pet
+	 * @param visit the visit being edited
+	 * @param model the model to add the owner and the pet to
 	 */
-	@ModelAttribute("visit")
-	public Visit loadPetWithVisit(@PathVariable("ownerId") int ownerId, @PathVariable("petId") int petId,
-								  Map<String, Object> model) {
-		Optional<Owner> optionalOwner = owners.findById(ownerId);
+	private void loadPetWithVisit(int ownerId, int petId, Visit visit, Map<String, Object> model) {
+		Optional<Owner> optionalOwner = owners.findWithPetsAndVisitsById(ownerId);
 		Owner owner = optionalOwner.orElseThrow(() -> new IllegalArgumentException(
 				"Owner not found with id: " + ownerId + ". Please ensure the ID is correct "));
 
@@ -78,29 +87,33 @@ class VisitController {
 		model.put("pet", pet);
 		model.put("owner", owner);
 
-		Visit visit = new Visit();
 		pet.addVisit(visit);
-		return visit;
 	}
 
-	// Spring MVC calls method loadPetWithVisit(...) before initNewVisitForm is
-	// called
 	@GetMapping("/owners/{ownerId}/pets/{petId}/visits/new")
-	public String initNewVisitForm() {
-		return "pets/createOrUpdateVisitForm";
+	public String initNewVisitForm(@PathVariable("ownerId") int ownerId, @PathVariable("petId") int petId,
+			Map<String, Object> model) {
+		Visit visit = new Visit();
+		loadPetWithVisit(ownerId, petId, visit, model);
+		model.put("visit", visit);
+		return VIEWS_VISIT_CREATE_FORM;
 	}
 
-	// Spring MVC calls method loadPetWithVisit(...) before processNewVisitForm is
-	// called
 	@PostMapping("/owners/{ownerId}/pets/{petId}/visits/new")
-	public String processNewVisitForm(@ModelAttribute Owner owner, @PathVariable int petId, @Valid Visit visit,
-			BindingResult result, RedirectAttributes redirectAttributes) {
+	public String processNewVisitForm(@PathVariable("ownerId") int ownerId, @PathVariable("petId") int petId,
+			@Valid Visit visit, BindingResult result, Map<String, Object> model,
+			RedirectAttributes redirectAttributes) {
 		if (result.hasErrors()) {
-			return "pets/createOrUpdateVisitForm";
+			loadPetWithVisit(ownerId, petId, visit, model);
+			return VIEWS_VISIT_CREATE_FORM;
 		}
 
-		owner.addVisit(petId, visit);
-		this.owners.save(owner);
+		if (this.pets.countByOwner(ownerId, petId) == 0) {
+			throw new IllegalArgumentException(
+					"Pet with id " + petId + " not found for owner with id " + ownerId + ".");
+		}
+		visit.setPet(this.pets.getReferenceById(petId));
+		this.visits.save(visit);
 		redirectAttributes.addFlashAttribute("message", "Your visit has been booked");
 		return "redirect:/owners/{ownerId}";
 	}
@@ -1,9 +1,9 @@
-INSERT INTO vets VALUES (default, 'James', 'Carter');
-INSERT INTO vets VALUES (default, 'Helen', 'Leary');
-INSERT INTO vets VALUES (default, 'Linda', 'Douglas');
-INSERT INTO vets VALUES (default, 'Rafael', 'Ortega');
-INSERT INTO vets VALUES (default, 'Henry', 'Stevens');
-INSERT INTO vets VALUES (default, 'Sharon', 'Jenkins');
+INSERT INTO vets VALUES (default, 'James', 'Carter', default, default);
+INSERT INTO vets VALUES (default, 'Helen', 'Leary', default, default);
+INSERT INTO vets VALUES (default, 'Linda', 'Douglas', default, default);
+INSERT INTO vets VALUES (default, 'Rafael', 'Ortega', default, default);
+INSERT INTO vets VALUES (default, 'Henry', 'Stevens', default, default);
+INSERT INTO vets VALUES (default, 'Sharon', 'Jenkins', default, default);
 
 INSERT INTO specialties VALUES (default, 'radiology');
 INSERT INTO specialties VALUES (default, 'surgery');
@@ -22,32 +22,46 @@ INSERT INTO types VALUES (default, 'snake');
 INSERT INTO types VALUES (default, 'bird');
 INSERT INTO types VALUES (default, 'hamster');
 
-INSERT INTO owners VALUES (default, 'George', 'Franklin', '110 W. Liberty St.', 'Madison', '6085551023');
-INSERT INTO owners VALUES (default, 'Betty', 'Davis', '638 Cardinal Ave.', 'Sun Prairie', '6085551749');
-INSERT INTO owners VALUES (default, 'Eduardo', 'Rodriquez', '2693 Commerce St.', 'McFarland', '6085558763');
-INSERT INTO owners VALUES (default, 'Harold', 'Davis', '563 Friendly St.', 'Windsor', '6085553198');
-INSERT INTO owners VALUES (default, 'Peter', 'McTavish', '2387 S. Fair Way', 'Madison', '6085552765');
-INSERT INTO owners VALUES (default, 'Jean', 'Coleman', '105 N. Lake St.', 'Monona', '6085552654');
-INSERT INTO owners VALUES (default, 'Jeff', 'Black', '1450 Oak Blvd.', 'Monona', '6085555387');
-INSERT INTO owners VALUES (default, 'Maria', 'Escobito', '345 Maple St.', 'Madison', '6085557683');
-INSERT INTO owners VALUES (default, 'David', 'Schroeder', '2749 Blackhawk Trail', 'Madison', '6085559435');
-INSERT INTO owners VALUES (default, 'Carlos', 'Estaban', '2335 Independence La.', 'Waunakee', '6085555487');
-
-INSERT INTO pets VALUES (default, 'Leo', '2010-09-07', 1, 1);
-INSERT INTO pets VALUES (default, 'Basil', '2012-08-06', 6, 2);
-INSERT INTO pets VALUES (default, 'Rosy', '2011-04-17', 2, 3);
-INSERT INTO pets VALUES (default, 'Jewel', '2010-03-07', 2, 3);
-INSERT INTO pets VALUES (default, 'Iggy', '2010-11-30', 3, 4);
-INSERT INTO pets VALUES (default, 'George', '2010-01-20', 4, 5);
-INSERT INTO pets VALUES (default, 'Samantha', '2012-09-04', 1, 6);
-INSERT INTO pets VALUES (default, 'Max', '2012-09-04', 1, 6);
-INSERT INTO pets VALUES (default, 'Lucky', '2011-08-06', 5, 7);
-INSERT INTO pets VALUES (default, 'Mulligan', '2007-02-24', 2, 8);
-INSERT INTO pets VALUES (default, 'Freddy', '2010-03-09', 5, 9);
-INSERT INTO pets VALUES (default, 'Lucky', '2010-06-24', 2, 10);
-INSERT INTO pets VALUES (default, 'Sly', '2012-06-08', 1, 10);
-
-INSERT INTO visits VALUES (default, 7, '2013-01-01', 'rabies shot');
-INSERT INTO visits VALUES (default, 8, '2013-01-02', 'rabies shot');
-INSERT INTO visits VALUES (default, 8, '2013-01-03', 'neutered');
-INSERT INTO visits VALUES (default, 7, '2013-01-04', 'spayed');
+INSERT INTO owners VALUES (default, 'George', 'Franklin', '110 W. Liberty St.', 'Madison', '6085551023', default, default);
+INSERT INTO owners VALUES (default, 'Betty', 'Davis', '638 Cardinal Ave.', 'Sun Prairie', '6085551749', default, default);
+INSERT INTO owners VALUES (default, 'Eduardo', 'Rodriquez', '2693 Commerce St.', 'McFarland', '6085558763', default, default);
+INSERT INTO owners VALUES (default, 'Harold', 'Davis', '563 Friendly St.', 'Windsor', '6085553198', default, default);
+INSERT INTO owners VALUES (default, 'Peter', 'McTavish', '2387 S. Fair Way', 'Madison', '6085552765', default, default);
+INSERT INTO owners VALUES (default, 'Jean', 'Coleman', '105 N. Lake St.', 'Monona', '6085552654', default, default);
+INSERT INTO owners VALUES (default, 'Jeff', 'Black', '1450 Oak Blvd.', 'Monona', '6085555387', default, default);
+INSERT INTO owners VALUES (default, 'Maria', 'Escobito', '345 Maple St.', 'Madison', '6085557683', default, default);
+INSERT INTO owners VALUES (default, 'David', 'Schroeder', '2749 Blackhawk Trail', 'Madison', '6085559435', default, default);
+INSERT INTO owners VALUES (default, 'Carlos', 'Estaban', '2335 Independence La.', 'Waunakee', '6085555487', default, default);
+
+INSERT INTO pets VALUES (default, 'Leo', '2010-09-07', 1, 1, default, default);
+INSERT INTO pets VALUES (default, 'Basil', '2012-08-06', 6, 2, default, default);
+INSERT INTO pets VALUES (default, 'Rosy', '2011-04-17', 2, 3, default, default);
+INSERT INTO pets VALUES (default, 'Jewel', '2010-03-07', 2, 3, default, default);
+INSERT INTO pets VALUES (default, 'Iggy', '2010-11-30', 3, 4, default, default);
+INSERT INTO pets VALUES (default, 'George', '2010-01-20', 4, 5, default, default);
+INSERT INTO pets VALUES (default, 'Samantha', '2012-09-04', 1, 6, default, default);
+INSERT INTO pets VALUES (default, 'Max', '2012-09-04', 1, 6, default, default);
+INSERT INTO pets VALUES (default, 'Lucky', '2011-08-06', 5, 7, default, default);
+INSERT INTO pets VALUES (default, 'Mulligan', '2007-02-24', 2, 8, default, default);
+INSERT INTO pets VALUES (default, 'Freddy', '2010-03-09', 5, 9, default, default);
+INSERT INTO pets VALUES (default, 'Lucky', '2010-06-24', 2, 10, default, default);
+INSERT INTO pets VALUES (default, 'Sly', '2012-06-08', 1, 10, default, default);
+
+INSERT INTO visits VALUES (default, 7, '2013-01-01', 'rabies shot', default, default);
+INSERT INTO visits VALUES (default, 8, '2013-01-02', 'rabies shot', default, default);
+INSERT INTO visits VALUES (default, 8, '2013-01-03', 'neutered', default, default);
+INSERT INTO visits VALUES (default, 7, '2013-01-04', 'spayed', default, default);
+
+-- Move petclinic_seq past the ids in use. The pooled-ids profile takes the 50 ids up to
+-- the value it reads, so the next value must be at least max(id) + 50.
+ALTER SEQUENCE petclinic_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM (
+    SELECT id FROM vets UNION ALL SELECT id FROM specialties UNION ALL SELECT id FROM types UNION ALL
+    SELECT id FROM owners UNION ALL SELECT id FROM pets UNION ALL SELECT id FROM visits) ids);
+
+-- Move each IDENTITY column past the ids in use, which may have come from petclinic_seq
+ALTER TABLE vets ALTER COLUMN id RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM vets);
+ALTER TABLE specialties ALTER COLUMN id RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM specialties);
+ALTER TABLE types ALTER COLUMN id RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM types);
+ALTER TABLE owners ALTER COLUMN id RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM owners);
+ALTER TABLE pets ALTER COLUMN id RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM pets);
+ALTER TABLE visits ALTER COLUMN id RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM visits);
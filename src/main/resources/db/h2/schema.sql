@@ -5,14 +5,17 @@ DROP TABLE visits IF EXISTS;
 DROP TABLE pets IF EXISTS;
 DROP TABLE types IF EXISTS;
 DROP TABLE owners IF EXISTS;
+DROP SEQUENCE IF EXISTS petclinic_seq;
 
 
 CREATE TABLE vets (
   id         INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
   first_name VARCHAR(30),
-  last_name  VARCHAR(30)
+  last_name  VARCHAR(30),
+  version    INTEGER DEFAULT 0 NOT NULL,
+  last_modified TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL
 );
-CREATE INDEX vets_last_name ON vets (last_name);
+CREATE INDEX vets_last_name ON vets (last_name, id);
 
 CREATE TABLE specialties (
   id   INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -39,16 +42,20 @@ CREATE TABLE owners (
   last_name  VARCHAR_IGNORECASE(30),
   address    VARCHAR(255),
   city       VARCHAR(80),
-  telephone  VARCHAR(20)
+  telephone  VARCHAR(20),
+  version    INTEGER DEFAULT 0 NOT NULL,
+  last_modified TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL
 );
-CREATE INDEX owners_last_name ON owners (last_name);
+CREATE INDEX owners_last_name ON owners (last_name, id);
 
 CREATE TABLE pets (
   id         INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
   name       VARCHAR(30),
   birth_date DATE,
   type_id    INTEGER NOT NULL,
-  owner_id   INTEGER
+  owner_id   INTEGER,
+  version    INTEGER DEFAULT 0 NOT NULL,
+  last_modified TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL
 );
 ALTER TABLE pets ADD CONSTRAINT fk_pets_owners FOREIGN KEY (owner_id) REFERENCES owners (id);
 ALTER TABLE pets ADD CONSTRAINT fk_pets_types FOREIGN KEY (type_id) REFERENCES types (id);
@@ -58,7 +65,12 @@ CREATE TABLE visits (
   id          INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
   pet_id      INTEGER,
   visit_date  DATE,
-  description VARCHAR(255)
+  description VARCHAR(255),
+  version     INTEGER DEFAULT 0 NOT NULL,
+  last_modified TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL
 );
 ALTER TABLE visits ADD CONSTRAINT fk_visits_pets FOREIGN KEY (pet_id) REFERENCES pets (id);
 CREATE INDEX visits_pet_id ON visits (pet_id);
+
+-- ids allocated in blocks of 50 by the pooled-ids profile; data.sql moves it past the ids in use
+CREATE SEQUENCE petclinic_seq START WITH 50 INCREMENT BY 50;
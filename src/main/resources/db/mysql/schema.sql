@@ -2,7 +2,9 @@ CREATE TABLE IF NOT EXISTS vets (
   id INT(4) UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY,
   first_name VARCHAR(30),
   last_name VARCHAR(30),
-  INDEX(last_name)
+  version INT NOT NULL DEFAULT 0,
+  last_modified DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+  INDEX(last_name, id)
 ) engine=InnoDB;
 
 CREATE TABLE IF NOT EXISTS specialties (
@@ -32,7 +34,9 @@ CREATE TABLE IF NOT EXISTS owners (
   address VARCHAR(255),
   city VARCHAR(80),
   telephone VARCHAR(20),
-  INDEX(last_name)
+  version INT NOT NULL DEFAULT 0,
+  last_modified DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+  INDEX(last_name, id)
 ) engine=InnoDB;
 
 CREATE TABLE IF NOT EXISTS pets (
@@ -41,6 +45,8 @@ CREATE TABLE IF NOT EXISTS pets (
   birth_date DATE,
   type_id INT(4) UNSIGNED NOT NULL,
   owner_id INT(4) UNSIGNED,
+  version INT NOT NULL DEFAULT 0,
+  last_modified DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
   INDEX(name),
   FOREIGN KEY (owner_id) REFERENCES owners(id),
   FOREIGN KEY (type_id) REFERENCES types(id)
@@ -51,5 +57,14 @@ CREATE TABLE IF NOT EXISTS visits (
   pet_id INT(4) UNSIGNED,
   visit_date DATE,
   description VARCHAR(255),
+  version INT NOT NULL DEFAULT 0,
+  last_modified DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
   FOREIGN KEY (pet_id) REFERENCES pets(id)
 ) engine=InnoDB;
+
+-- ids allocated in blocks of 50 by the pooled-ids profile; data.sql moves it past the ids in use.
+-- MySQL has no sequences, so Hibernate reads and increments this single-row table
+CREATE TABLE IF NOT EXISTS petclinic_seq (
+  next_val BIGINT NOT NULL
+) engine=InnoDB;
+INSERT INTO petclinic_seq (next_val) SELECT 50 FROM DUAL WHERE NOT EXISTS (SELECT * FROM petclinic_seq);
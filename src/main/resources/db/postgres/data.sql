@@ -51,3 +51,21 @@ INSERT INTO visits (pet_id, visit_date, description) SELECT 7, '2010-03-04', 'ra
 INSERT INTO visits (pet_id, visit_date, description) SELECT 8, '2011-03-04', 'rabies shot' WHERE NOT EXISTS (SELECT * FROM visits WHERE id=2);
 INSERT INTO visits (pet_id, visit_date, description) SELECT 8, '2009-06-04', 'neutered' WHERE NOT EXISTS (SELECT * FROM visits WHERE id=3);
 INSERT INTO visits (pet_id, visit_date, description) SELECT 7, '2008-09-04', 'spayed' WHERE NOT EXISTS (SELECT * FROM visits WHERE id=4);
+
+-- Move petclinic_seq past the ids in use, which also migrates a database created before
+-- the sequence or written to with IDENTITY ids. The pooled-ids profile takes the 50 ids
+-- up to the value it reads, so the next value must be at least max(id) + 50.
+SELECT setval('petclinic_seq', GREATEST(
+  (SELECT COALESCE(MAX(id), 0) FROM (
+    SELECT id FROM vets UNION ALL SELECT id FROM specialties UNION ALL SELECT id FROM types UNION ALL
+    SELECT id FROM owners UNION ALL SELECT id FROM pets UNION ALL SELECT id FROM visits) ids) + 50,
+  (SELECT last_value + CASE WHEN is_called THEN 50 ELSE 0 END FROM petclinic_seq)), false);
+
+-- Move each IDENTITY column past the ids in use, so that switching the pooled-ids profile
+-- off again does not hand out ids that petclinic_seq already allocated
+SELECT setval(pg_get_serial_sequence('vets', 'id'), COALESCE(MAX(id), 0) + 1, false) FROM vets;
+SELECT setval(pg_get_serial_sequence('specialties', 'id'), COALESCE(MAX(id), 0) + 1, false) FROM specialties;
+SELECT setval(pg_get_serial_sequence('types', 'id'), COALESCE(MAX(id), 0) + 1, false) FROM types;
+SELECT setval(pg_get_serial_sequence('owners', 'id'), COALESCE(MAX(id), 0) + 1, false) FROM owners;
+SELECT setval(pg_get_serial_sequence('pets', 'id'), COALESCE(MAX(id), 0) + 1, false) FROM pets;
+SELECT setval(pg_get_serial_sequence('visits', 'id'), COALESCE(MAX(id), 0) + 1, false) FROM visits;
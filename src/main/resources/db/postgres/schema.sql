@@ -1,9 +1,11 @@
 CREATE TABLE IF NOT EXISTS vets (
   id         INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
   first_name TEXT,
-  last_name  TEXT
+  last_name  TEXT,
+  version    INT NOT NULL DEFAULT 0,
+  last_modified TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP
 );
-CREATE INDEX ON vets (last_name);
+CREATE INDEX ON vets (last_name, id);
 
 CREATE TABLE IF NOT EXISTS specialties (
   id   INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -29,16 +31,20 @@ CREATE TABLE IF NOT EXISTS owners (
   last_name  TEXT,
   address    TEXT,
   city       TEXT,
-  telephone  TEXT
+  telephone  TEXT,
+  version    INT NOT NULL DEFAULT 0,
+  last_modified TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP
 );
-CREATE INDEX ON owners (last_name);
+CREATE INDEX ON owners (last_name, id);
 
 CREATE TABLE IF NOT EXISTS pets (
   id         INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
   name       TEXT,
   birth_date DATE,
   type_id    INT NOT NULL REFERENCES types (id),
-  owner_id   INT REFERENCES owners (id)
+  owner_id   INT REFERENCES owners (id),
+  version    INT NOT NULL DEFAULT 0,
+  last_modified TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP
 );
 CREATE INDEX ON pets (name);
 CREATE INDEX ON pets (owner_id);
@@ -47,6 +53,11 @@ CREATE TABLE IF NOT EXISTS visits (
   id          INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
   pet_id      INT REFERENCES pets (id),
   visit_date  DATE,
-  description TEXT
+  description TEXT,
+  version     INT NOT NULL DEFAULT 0,
+  last_modified TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP
 );
 CREATE INDEX ON visits (pet_id);
+
+-- ids allocated in blocks of 50 by the pooled-ids profile; data.sql moves it past the ids in use
+CREATE SEQUENCE IF NOT EXISTS petclinic_seq START WITH 50 INCREMENT BY 50;
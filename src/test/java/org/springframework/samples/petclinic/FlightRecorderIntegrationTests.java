@@ -0,0 +1,139 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.io.Resource;
+import org.springframework.samples.petclinic.domain.repository.OwnerRepository;
+import org.springframework.samples.petclinic.domain.repository.VetRepository;
+import org.springframework.samples.petclinic.formatting.config.FlightRecorderEndpoint;
+import org.springframework.samples.petclinic.formatting.config.FlightRecorderEndpoint.RecordingDescription;
+import org.springframework.test.web.servlet.MockMvc;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Records controller invocations, repository calls and cache lookups through the
+ * {@link FlightRecorderEndpoint} and reads them back from the downloaded recording.
+ */
+@SpringBootTest(properties = "petclinic.jfr.enabled=true")
+@AutoConfigureMockMvc
+class FlightRecorderIntegrationTests {
+
+	@Autowired
+	private FlightRecorderEndpoint endpoint;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private OwnerRepository owners;
+
+	@Autowired
+	private VetRepository vets;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@AfterEach
+	void close() {
+		this.endpoint.destroy();
+	}
+
+	@Test
+	void recordsRepositoryCallsAndCacheLookups() throws IOException {
+		this.cacheManager.getCache("vets").clear();
+		RecordingDescription started = this.endpoint.start("default", null);
+		assertThat(started.state()).isEqualTo("RUNNING");
+
+		this.owners.findById(1);
+		this.vets.findAll();
+		this.vets.findAll();
+
+		assertThat(this.endpoint.stop().getBody().state()).isEqualTo("STOPPED");
+		List<RecordedEvent> events = download(started.id());
+
+		assertThat(events).filteredOn((event) -> isType(event, "RepositoryCall"))
+			.anySatisfy((event) -> {
+				assertThat(event.getString("repositoryMethod")).isEqualTo("OwnerRepository.findById");
+				assertThat(event.getString("entityId")).isEqualTo("1");
+			});
+		assertThat(events).filteredOn((event) -> isType(event, "CacheLookup"))
+			.filteredOn((event) -> "vets".equals(event.getString("cache")))
+			.extracting((event) -> event.getBoolean("hit"))
+			.containsExactly(false, true);
+	}
+
+	@Test
+	void recordsControllerInvocations() throws Exception {
+		RecordingDescription started = this.endpoint.start("default", null);
+
+		this.mockMvc.perform(get("/owners/6/pets/8/edit")).andExpect(status().isOk());
+
+		this.endpoint.stop();
+		List<RecordedEvent> events = download(started.id());
+
+		assertThat(events).filteredOn((event) -> isType(event, "ControllerInvocation"))
+			.anySatisfy((event) -> {
+				assertThat(event.getString("route")).isEqualTo("GET /owners/{ownerId}/pets/{petId}/edit");
+				assertThat(event.getString("handler")).isEqualTo("PetController.initUpdateForm");
+				// the last id of the route, the pet rather than its owner
+				assertThat(event.getString("entityId")).isEqualTo("8");
+				assertThat(event.getInt("status")).isEqualTo(200);
+			});
+	}
+
+	@Test
+	void downloadNeedsTheIdOfTheRecording() throws IOException {
+		RecordingDescription started = this.endpoint.start(null, null);
+		assertThat(started.settings()).isEqualTo("profile");
+		assertThat(this.endpoint.download(started.id() + 1).getStatus())
+			.isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+	}
+
+	private List<RecordedEvent> download(long id) throws IOException {
+		WebEndpointResponse<Resource> response = this.endpoint.download(id);
+		assertThat(response.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+		Path file = response.getBody().getFile().toPath();
+		try {
+			return RecordingFile.readAllEvents(file);
+		}
+		finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private static boolean isType(RecordedEvent event, String name) {
+		return event.getEventType().getName().equals("org.springframework.samples.petclinic." + name);
+	}
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.restclient.RestTemplateBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.web.server.test.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Checks that requests and repository calls are timed per route template and repository
+ * method, with the SLO buckets of <code>application.properties</code>.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+class MetricsIntegrationTests {
+
+	@LocalServerPort
+	int port;
+
+	@Autowired
+	private RestTemplateBuilder builder;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Test
+	void ownerDetailsAreTimedByRouteAndRepositoryMethod() {
+		ResponseEntity<String> result = this.builder.rootUri("http://localhost:" + this.port)
+			.build()
+			.getForEntity("/owners/2", String.class);
+		assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+		Timer request = this.registry.get("http.server.requests")
+			.tag("uri", "/owners/{ownerId}")
+			.tag("outcome", "SUCCESS")
+			.timer();
+		assertThat(request.count()).isPositive();
+		assertThat(bucketsInMillis(request)).contains(100.0, 250.0, 500.0, 1000.0);
+
+		Timer repository = this.registry.get("spring.data.repository.invocations")
+			.tag("repository", "OwnerRepository")
+			.tag("method", "findWithPetsAndVisitsById")
+			.timer();
+		assertThat(repository.count()).isPositive();
+		assertThat(bucketsInMillis(repository)).contains(5.0, 10.0, 25.0, 50.0, 100.0);
+	}
+
+	private static double[] bucketsInMillis(Timer timer) {
+		return Arrays.stream(timer.takeSnapshot().histogramCounts())
+			.mapToDouble(bucket -> bucket.bucket(TimeUnit.MILLISECONDS))
+			.toArray();
+	}
+
+}
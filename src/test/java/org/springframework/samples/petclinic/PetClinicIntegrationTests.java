@@ -31,7 +31,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.samples.petclinic.domain.repository.VetRepository;
 import org.springframework.web.client.RestTemplate;
 
-@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,
+		properties = "petclinic.hibernate-statistics.enabled=true")
+@QueryBudget(statements = 5)
 public class PetClinicIntegrationTests {
 
 	@LocalServerPort
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Declares how much Hibernate work a test, and each request it makes to the application,
+ * may do; see {@link QueryBudgetExtension}. On a method it replaces the budget declared
+ * on the class.
+ * <p>
+ * Requires <code>petclinic.hibernate-statistics.enabled=true</code> in the test
+ * properties.
+ * </p>
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+	/**
+	 * The most JDBC statements the test method, and each request, may prepare.
+	 */
+	long statements();
+
+	/**
+	 * The most collections the test method, and each request, may fetch with a select of
+	 * their own.
+	 */
+	long collectionFetches() default Long.MAX_VALUE;
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.springframework.context.ApplicationContext;
+import org.springframework.samples.petclinic.formatting.config.HibernateStatisticsEndpoint;
+import org.springframework.samples.petclinic.formatting.config.HibernateStatisticsEndpoint.RequestStatistics;
+import org.springframework.samples.petclinic.formatting.config.HibernateWorkStatistics;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * Fails a test that goes over its {@link QueryBudget}: the Hibernate work done on the
+ * test thread is recorded with {@link HibernateWorkStatistics}, and every request the
+ * application served during the test is read back from the
+ * {@link HibernateStatisticsEndpoint} and held to the same budget. An N+1 pattern then
+ * fails the build rather than slowing down a page in production.
+ */
+public class QueryBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+	private static final Namespace NAMESPACE = Namespace.create(QueryBudgetExtension.class);
+
+	@Override
+	public void beforeEach(ExtensionContext context) {
+		if (!HibernateWorkStatistics.isCollecting()) {
+			throw new IllegalStateException(
+					"@QueryBudget needs petclinic.hibernate-statistics.enabled=true in the test properties");
+		}
+		ExtensionContext.Store store = context.getStore(NAMESPACE);
+		HibernateStatisticsEndpoint endpoint = endpoint(context);
+		if (endpoint != null) {
+			List<RequestStatistics> requests = endpoint.getRequests();
+			store.put("sequence", requests.isEmpty() ? 0L : requests.get(requests.size() - 1).sequence());
+		}
+		store.put("statistics", HibernateWorkStatistics.start());
+	}
+
+	@Override
+	public void afterEach(ExtensionContext context) {
+		ExtensionContext.Store store = context.getStore(NAMESPACE);
+		HibernateWorkStatistics statistics = store.remove("statistics", HibernateWorkStatistics.class);
+		if (statistics == null) {
+			return;
+		}
+		statistics.stop();
+		QueryBudget budget = budget(context);
+		List<String> violations = new ArrayList<>();
+		if (statistics.getStatements() > budget.statements()
+				|| statistics.getCollectionFetches() > budget.collectionFetches()) {
+			violations.add(context.getDisplayName() + ": " + statistics);
+		}
+		HibernateStatisticsEndpoint endpoint = endpoint(context);
+		Long sequence = store.remove("sequence", Long.class);
+		if (endpoint != null && sequence != null) {
+			for (RequestStatistics request : endpoint.getRequests()) {
+				if (request.sequence() > sequence && (request.statements() > budget.statements()
+						|| request.collectionFetches() > budget.collectionFetches())) {
+					violations.add(request.method() + " " + request.route() + ": " + request.statements()
+							+ " statements, " + request.collectionFetches() + " collection fetches");
+				}
+			}
+		}
+		if (!violations.isEmpty()) {
+			throw new AssertionError("Over the query budget of " + budget.statements() + " statements"
+					+ ((budget.collectionFetches() != Long.MAX_VALUE)
+							? " and " + budget.collectionFetches() + " collection fetches" : "")
+					+ ":\n  " + String.join("\n  ", violations));
+		}
+	}
+
+	private static QueryBudget budget(ExtensionContext context) {
+		return AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), QueryBudget.class)
+			.or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), QueryBudget.class))
+			.orElseThrow();
+	}
+
+	private static HibernateStatisticsEndpoint endpoint(ExtensionContext context) {
+		ApplicationContext applicationContext = SpringExtension.getApplicationContext(context);
+		return applicationContext.getBeanProvider(HibernateStatisticsEndpoint.class).getIfAvailable();
+	}
+
+}
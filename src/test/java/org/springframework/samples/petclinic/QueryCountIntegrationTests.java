@@ -0,0 +1,156 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.restclient.RestTemplateBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.web.server.test.LocalServerPort;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Asserts the number of SQL statements each page issues, so that a change in fetching
+ * (an association turning eager again, a missing entity graph) shows up as a failing
+ * test rather than as slower pages.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,
+		properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class QueryCountIntegrationTests {
+
+	@LocalServerPort
+	int port;
+
+	@Autowired
+	private RestTemplateBuilder builder;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void clearStatistics() {
+		this.cacheManager.getCacheNames().forEach(name -> this.cacheManager.getCache(name).clear());
+		this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		this.statistics.clear();
+	}
+
+	@Test
+	void ownerDetailsLoadsTheAggregateInOneQuery() {
+		// revision for the conditional GET, then owner, pets, types and visits joined for
+		// the model attribute, which the handler reuses
+		assertStatements("/owners/1", 2);
+	}
+
+	@Test
+	void ownerEditFormLoadsNoPetsOrVisits() {
+		assertStatements("/owners/1/edit", 1);
+	}
+
+	@Test
+	void ownerSearchDoesNotLoadPetsOrVisits() {
+		// owner summaries, then the pet names of the owners on the page; no conditional GET,
+		// which would cost an aggregate over all owners
+		assertStatements("/owners?lastName=Davis", 2);
+	}
+
+	@Test
+	void petEditFormLoadsNoVisits() {
+		// owner, pets and types, shared by the owner and pet model attributes; pet types
+		// come from the reference data registry
+		assertStatements("/owners/1/pets/1/edit", 1);
+	}
+
+	@Test
+	void visitFormLoadsTheAggregateInOneQuery() {
+		assertStatements("/owners/1/pets/1/visits/new", 1);
+	}
+
+	@Test
+	void vetListPagesInTheDatabase() {
+		// revision for the conditional GET, vet ids of the page, vet count, then vets and
+		// specialties joined
+		assertStatements("/vets.html", 4);
+	}
+
+	@Test
+	void vetListIsServedFromTheCacheOnceLoaded() {
+		assertStatements("/vets.html", 4);
+		this.statistics.clear();
+		// only the revision for the conditional GET
+		assertStatements("/vets.html", 1);
+		assertThat(this.cacheManager.getCache("vetPages")).isNotNull();
+	}
+
+	@Test
+	void vetListIsReloadedOnceAVetChanges() {
+		assertStatements("/vets.html", 4);
+		this.jdbcTemplate.update("UPDATE vets SET last_name = 'Carterton', version = version + 1 WHERE id = 1");
+		try {
+			this.statistics.clear();
+			// the revision changed, so the cached pages are cleared and read again
+			assertStatements("/vets.html", 4);
+			assertThat(exchange(RequestEntity.get("/vets.html").build()).getBody()).contains("Carterton");
+		}
+		finally {
+			this.jdbcTemplate.update("UPDATE vets SET last_name = 'Carter', version = version + 1 WHERE id = 1");
+		}
+	}
+
+	@Test
+	void repeatOwnerDetailsViewOnlyReadsTheRevision() {
+		String etag = exchange(RequestEntity.get("/owners/1").build()).getHeaders().getETag();
+		assertThat(etag).isNotNull();
+		this.statistics.clear();
+		ResponseEntity<String> result = exchange(RequestEntity.get("/owners/1").ifNoneMatch(etag).build());
+		assertThat(result.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+		assertThat(result.getBody()).isNull();
+		assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	private void assertStatements(String url, long expected) {
+		ResponseEntity<String> result = exchange(RequestEntity.get(url).build());
+		assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(this.statistics.getPrepareStatementCount()).as(url).isEqualTo(expected);
+	}
+
+	private ResponseEntity<String> exchange(RequestEntity<Void> request) {
+		RestTemplate template = builder.rootUri("http://localhost:" + port).build();
+		return template.exchange(request, String.class);
+	}
+
+}
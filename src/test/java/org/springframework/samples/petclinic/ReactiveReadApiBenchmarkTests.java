@@ -0,0 +1,94 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.web.server.test.LocalServerPort;
+import org.springframework.samples.petclinic.formatting.config.ReactiveReadServer;
+import org.springframework.samples.petclinic.loadtest.LatencyHistogram;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Compares how many concurrent connections the vet list survives when served by the MVC
+ * controller on Tomcat and by the reactive read API on Netty, with the
+ * <code>reactive</code> profile. Each round opens the given number of connections at
+ * once and counts the answers received within the timeout; requests that fail or time
+ * out count as errors. Run with <code>-Dpetclinic.benchmark=true</code> and a fixed heap
+ * (for example <code>-Xmx256m</code>) so both stacks are measured at the same memory;
+ * each round prints its latencies together with the heap and the threads in use.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = "petclinic.reactive.port=0")
+@ActiveProfiles("reactive")
+@EnabledIfSystemProperty(named = "petclinic.benchmark", matches = "true")
+class ReactiveReadApiBenchmarkTests {
+
+	private static final int[] CONNECTIONS = { 250, 500, 1_000, 2_000 };
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+	@LocalServerPort
+	int port;
+
+	@Autowired
+	private ReactiveReadServer reactiveReadServer;
+
+	@Test
+	void listVets() throws Exception {
+		URI mvc = URI.create("http://localhost:" + this.port + "/vets");
+		URI reactive = URI.create("http://localhost:" + this.reactiveReadServer.getPort() + "/api/vets");
+		for (int connections : CONNECTIONS) {
+			benchmark("mvc", mvc, connections);
+			benchmark("reactive", reactive, connections);
+		}
+	}
+
+	private static void benchmark(String label, URI uri, int connections) throws Exception {
+		// a client per round, so no connection is reused across rounds
+		HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		HttpRequest request = HttpRequest.newBuilder(uri).header("Accept", "application/json").timeout(TIMEOUT).build();
+		LatencyHistogram latencies = new LatencyHistogram();
+		CompletableFuture<?>[] responses = new CompletableFuture<?>[connections];
+		long round = System.nanoTime();
+		for (int i = 0; i < connections; i++) {
+			long start = System.nanoTime();
+			responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+				.thenAccept(response -> latencies.record(System.nanoTime() - start, response.statusCode() == 200))
+				.exceptionally(ex -> {
+					latencies.record(System.nanoTime() - start, false);
+					return null;
+				});
+		}
+		int threads = ManagementFactory.getThreadMXBean().getThreadCount();
+		CompletableFuture.allOf(responses).join();
+		long elapsed = System.nanoTime() - round;
+		long heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+		latencies.print(System.out, label + ", " + connections + " connections", elapsed / 1e9);
+		System.out.printf("%-44s heap %d MB, %d threads%n", "", heap >> 20, threads);
+	}
+
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.samples.petclinic.domain.repository.OwnerSummary;
+import org.springframework.samples.petclinic.domain.repository.ReactiveClinicQueries;
+import org.springframework.samples.petclinic.domain.repository.VetSummary;
+import org.springframework.samples.petclinic.web.controller.ReactiveReadRoutes;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the routes of the reactive read API against the sample data in H2, read over
+ * R2DBC.
+ */
+class ReactiveReadApiTests {
+
+	private static ConnectionFactory connectionFactory;
+
+	private WebTestClient client;
+
+	@BeforeAll
+	static void createDatabase() {
+		connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///reactive-read-api;DB_CLOSE_DELAY=-1");
+		new ResourceDatabasePopulator(new ClassPathResource("db/h2/schema.sql"),
+				new ClassPathResource("db/h2/data.sql"))
+			.populate(connectionFactory)
+			.block();
+		DatabaseClient.create(connectionFactory)
+			.sql("INSERT INTO owners (first_name, last_name, address, city, telephone) "
+					+ "VALUES ('Nina', 'Petless', '1 Empty St.', 'Madison', '6085550000')")
+			.then()
+			.block();
+	}
+
+	@BeforeEach
+	void bindRoutes() {
+		ReactiveClinicQueries queries = new ReactiveClinicQueries(DatabaseClient.create(connectionFactory));
+		this.client = WebTestClient.bindToRouterFunction(ReactiveReadRoutes.routes(queries)).build();
+	}
+
+	@Test
+	void foldsTheSpecialtyRowsOfEachVet() {
+		List<VetSummary> vets = this.client.get()
+			.uri("/api/vets")
+			.exchange()
+			.expectStatus()
+			.isOk()
+			.expectHeader()
+			.contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+			.expectBodyList(VetSummary.class)
+			.returnResult()
+			.getResponseBody();
+		// eight joined rows for six vets
+		assertThat(vets).extracting(VetSummary::lastName)
+			.containsExactly("Carter", "Douglas", "Jenkins", "Leary", "Ortega", "Stevens");
+		assertThat(vets.get(0).specialties()).isEmpty();
+		assertThat(vets.get(1).specialties()).containsExactly("dentistry", "surgery");
+	}
+
+	@Test
+	void foldsThePetRowsOfEachOwner() {
+		List<OwnerSummary> owners = this.client.get()
+			.uri("/api/owners?lastName=Rodriquez")
+			.exchange()
+			.expectStatus()
+			.isOk()
+			.expectBodyList(OwnerSummary.class)
+			.returnResult()
+			.getResponseBody();
+		assertThat(owners).singleElement().satisfies(owner -> {
+			assertThat(owner.firstName()).isEqualTo("Eduardo");
+			assertThat(owner.pets()).containsExactly("Jewel", "Rosy");
+		});
+	}
+
+	@Test
+	void listsAnOwnerWithoutPetsWithAnEmptyList() {
+		this.client.get()
+			.uri("/api/owners?lastName=Petless")
+			.exchange()
+			.expectStatus()
+			.isOk()
+			.expectBody()
+			.jsonPath("$.length()")
+			.isEqualTo(1)
+			.jsonPath("$[0].pets")
+			.isEmpty();
+	}
+
+	@Test
+	void showsAnOwnerWithoutPetsWithAnEmptyList() {
+		// the owner inserted after the ten sample owners
+		this.client.get()
+			.uri("/api/owners/{ownerId}", 11)
+			.exchange()
+			.expectStatus()
+			.isOk()
+			.expectBody(OwnerSummary.class)
+			.value(owner -> {
+				assertThat(owner.lastName()).isEqualTo("Petless");
+				assertThat(owner.pets()).isEmpty();
+			});
+	}
+
+	@Test
+	void streamsOneDocumentPerLineWhenAskedForNdjson() {
+		List<OwnerSummary> owners = this.client.get()
+			.uri("/api/owners?lastName=Davis")
+			.accept(MediaType.APPLICATION_NDJSON)
+			.exchange()
+			.expectStatus()
+			.isOk()
+			.expectHeader()
+			.contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+			.returnResult(OwnerSummary.class)
+			.getResponseBody()
+			.collectList()
+			.block();
+		assertThat(owners).extracting(OwnerSummary::firstName).containsExactly("Betty", "Harold");
+	}
+
+	@Test
+	void writesAJsonArrayByDefault() {
+		this.client.get()
+			.uri("/api/owners?lastName=Davis")
+			.exchange()
+			.expectStatus()
+			.isOk()
+			.expectHeader()
+			.contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+			.expectBody()
+			.jsonPath("$[*].firstName")
+			.isEqualTo(List.of("Betty", "Harold"));
+	}
+
+	@Test
+	void showsAnOwnerWithThePetsSortedByName() {
+		this.client.get()
+			.uri("/api/owners/{ownerId}", 6)
+			.exchange()
+			.expectStatus()
+			.isOk()
+			.expectBody(OwnerSummary.class)
+			.value(owner -> assertThat(owner.pets()).containsExactly("Max", "Samantha"));
+	}
+
+	@Test
+	void answersNotFoundForAMissingOwner() {
+		this.client.get().uri("/api/owners/{ownerId}", 999).exchange().expectStatus().isNotFound();
+	}
+
+	@Test
+	void answersBadRequestForANonNumericOwnerId() {
+		this.client.get().uri("/api/owners/{ownerId}", "abc").exchange().expectStatus().isBadRequest();
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic;
+
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Runs the <code>replica</code> profile, where two embedded databases stand in for a
+ * primary and a replica that is never updated, so every read shows which one it used.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("replica")
+class ReplicaRoutingIntegrationTests {
+
+	private static final String COOKIE_NAME = "petclinic-primary";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	@Qualifier("replica")
+	private DataSource replica;
+
+	@BeforeEach
+	void renameOwnerOnReplica() {
+		new JdbcTemplate(this.replica).update("UPDATE owners SET first_name = 'Replicated' WHERE id = 1");
+	}
+
+	@AfterEach
+	void restoreOwnerOnReplica() {
+		new JdbcTemplate(this.replica).update("UPDATE owners SET first_name = 'George' WHERE id = 1");
+	}
+
+	@Test
+	void readsGoToTheReplica() throws Exception {
+		this.mockMvc.perform(get("/owners/1"))
+			.andExpect(status().isOk())
+			.andExpect(content().string(containsString("Replicated")));
+	}
+
+	@Test
+	void readsFollowingAWriteGoToThePrimary() throws Exception {
+		MvcResult created = this.mockMvc
+			.perform(post("/owners/new").param("firstName", "Joe")
+				.param("lastName", "Bloggs")
+				.param("address", "123 Caramel Street")
+				.param("city", "London")
+				.param("telephone", "1316761638"))
+			.andExpect(status().is3xxRedirection())
+			.andExpect(cookie().exists(COOKIE_NAME))
+			.andReturn();
+		String location = created.getResponse().getRedirectedUrl();
+		Cookie sticky = created.getResponse().getCookie(COOKIE_NAME);
+
+		this.mockMvc.perform(get(location).cookie(sticky))
+			.andExpect(status().isOk())
+			.andExpect(content().string(containsString("Bloggs")));
+		this.mockMvc.perform(get("/owners/1").cookie(sticky))
+			.andExpect(content().string(containsString("George")));
+
+		// without the cookie the replica, which never received the owner, is read
+		assertThatExceptionOfType(ServletException.class).isThrownBy(() -> this.mockMvc.perform(get(location)))
+			.withCauseInstanceOf(IllegalArgumentException.class);
+	}
+
+}
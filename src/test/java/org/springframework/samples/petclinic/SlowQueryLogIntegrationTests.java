@@ -0,0 +1,81 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.samples.petclinic.domain.repository.OwnerRepository;
+import org.springframework.samples.petclinic.formatting.config.SlowQueryEndpoint;
+import org.springframework.samples.petclinic.formatting.config.SlowQueryEndpoint.SlowQuery;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Logs every statement as slow, to check what the slow query log traces them back to.
+ */
+@SpringBootTest(properties = { "petclinic.slow-query-log.enabled=true", "petclinic.slow-query-log.threshold=0ms" })
+@AutoConfigureMockMvc
+class SlowQueryLogIntegrationTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private OwnerRepository owners;
+
+	@Autowired
+	private SlowQueryEndpoint endpoint;
+
+	@BeforeEach
+	void clear() {
+		this.endpoint.clear();
+	}
+
+	@Test
+	void recordsTheRepositoryMethodAndBindParameters() {
+		this.owners.findById(1);
+		assertThat(this.endpoint.slowQueries()).first().satisfies((query) -> {
+			assertThat(query.sql()).startsWith("select");
+			assertThat(query.parameters()).containsExactly("1");
+			assertThat(query.repositoryMethod()).isEqualTo("OwnerRepository.findById");
+			assertThat(query.route()).isNull();
+			assertThat(query.failed()).isFalse();
+		});
+	}
+
+	@Test
+	void recordsTheRouteOfTheRequest() throws Exception {
+		this.mockMvc.perform(get("/owners").param("lastName", "Davis")).andExpect(status().isOk());
+		assertThat(this.endpoint.slowQueries()).isNotEmpty()
+			.allMatch((query) -> "GET /owners".equals(query.route()))
+			.extracting(SlowQuery::repositoryMethod)
+			.contains("OwnerRepository.findSummariesByLastNameStartingWith");
+		SlowQuery search = this.endpoint.slowQueries()
+			.stream()
+			.filter((query) -> query.sql().contains(" like "))
+			.findFirst()
+			.orElseThrow();
+		// strings may be personal data and are masked by default
+		assertThat(search.parameters()).startsWith("<String>").noneMatch((parameter) -> parameter.contains("Davis"));
+	}
+
+}
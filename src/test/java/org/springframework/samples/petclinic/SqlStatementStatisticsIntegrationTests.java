@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.samples.petclinic.formatting.config.SqlStatementsEndpoint;
+import org.springframework.samples.petclinic.formatting.config.SqlStatementsEndpoint.StatementStatistics;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = "petclinic.sql-statements.enabled=true")
+@AutoConfigureMockMvc
+class SqlStatementStatisticsIntegrationTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private SqlStatementsEndpoint endpoint;
+
+	@BeforeEach
+	void reset() {
+		this.endpoint.reset();
+	}
+
+	@Test
+	void aggregatesSearchesForDifferentNamesUnderOneFingerprint() throws Exception {
+		this.mockMvc.perform(get("/owners").param("lastName", "Davis")).andExpect(status().isOk());
+		this.mockMvc.perform(get("/owners").param("lastName", "Escobito")).andExpect(status().is3xxRedirection());
+		StatementStatistics search = this.endpoint.statements()
+			.stream()
+			.filter((statement) -> statement.fingerprint().startsWith("select")
+					&& statement.fingerprint().contains("from owners o1_0 where o1_0.last_name like ?"))
+			.findFirst()
+			.orElseThrow();
+		assertThat(search.calls()).isEqualTo(2);
+		// two Davis and one Escobito
+		assertThat(search.rows()).isEqualTo(3);
+		assertThat(search.failures()).isZero();
+		assertThat(search.totalMillis()).isPositive();
+		assertThat(search.p99Millis()).isLessThanOrEqualTo(search.maxMillis());
+	}
+
+	@Test
+	void collapsesParameterLists() throws Exception {
+		this.mockMvc.perform(get("/owners").param("lastName", "Davis")).andExpect(status().isOk());
+		assertThat(this.endpoint.statements()).extracting(StatementStatistics::fingerprint)
+			.anyMatch((fingerprint) -> fingerprint.contains("in (?, ...)"));
+	}
+
+	@Test
+	void resetForgetsAllStatements() throws Exception {
+		this.mockMvc.perform(get("/owners/1")).andExpect(status().isOk());
+		assertThat(this.endpoint.statements()).isNotEmpty();
+		this.endpoint.reset();
+		assertThat(this.endpoint.statements()).isEmpty();
+	}
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.web.server.test.LocalServerPort;
+import org.springframework.samples.petclinic.formatting.config.VirtualThreadPinningMonitor;
+import org.springframework.samples.petclinic.loadtest.LatencyHistogram;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Compares the throughput and the 99th percentile latency of the owner details page
+ * served by Tomcat's pool of platform threads and by virtual threads, with the
+ * <code>virtual-threads</code> profile. Both use a pool of 20 connections and are driven
+ * by more concurrent clients than Tomcat has platform threads. Run with
+ * <code>-Dpetclinic.benchmark=true</code>; each test prints its result. The embedded H2
+ * database answers without network round trips, so the difference grows with the query
+ * latency of a real database.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,
+		properties = "spring.datasource.hikari.maximum-pool-size=20")
+@EnabledIfSystemProperty(named = "petclinic.benchmark", matches = "true")
+class VirtualThreadLoadBenchmarkTests {
+
+	private static final int CLIENTS = 400;
+
+	private static final int WARMUP_REQUESTS = 4_000;
+
+	private static final int REQUESTS = 40_000;
+
+	@Nested
+	class PlatformThreads {
+
+		@LocalServerPort
+		int port;
+
+		@Test
+		void showOwners() throws Exception {
+			benchmark("platform threads", this.port);
+		}
+
+	}
+
+	@Nested
+	@ActiveProfiles("virtual-threads")
+	class VirtualThreads {
+
+		@LocalServerPort
+		int port;
+
+		@Autowired
+		private VirtualThreadPinningMonitor pinningMonitor;
+
+		@Test
+		void showOwners() throws Exception {
+			benchmark("virtual threads", this.port);
+			System.out.println("pinned: " + this.pinningMonitor.getPinnedCounts());
+		}
+
+	}
+
+	private static void benchmark(String label, int port) throws Exception {
+		HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		// first round warms up the JIT and the connections, second round is measured
+		run(client, port, WARMUP_REQUESTS, new LatencyHistogram());
+		LatencyHistogram latencies = new LatencyHistogram();
+		long start = System.nanoTime();
+		run(client, port, REQUESTS, latencies);
+		long elapsed = System.nanoTime() - start;
+		latencies.print(System.out, label + ", " + CLIENTS + " clients", elapsed / 1e9);
+	}
+
+	private static void run(HttpClient client, int port, int requests, LatencyHistogram latencies)
+			throws Exception {
+		AtomicInteger next = new AtomicInteger();
+		Callable<Void> clientLoop = () -> {
+			for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+				URI uri = URI.create("http://localhost:" + port + "/owners/" + (1 + i % 10));
+				long start = System.nanoTime();
+				HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).build(),
+						HttpResponse.BodyHandlers.discarding());
+				latencies.record(System.nanoTime() - start, response.statusCode() == 200);
+				assertThat(response.statusCode()).isEqualTo(200);
+			}
+			return null;
+		};
+		ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+		try {
+			List<Future<Void>> results = new ArrayList<>();
+			for (int c = 0; c < CLIENTS; c++) {
+				results.add(clients.submit(clientLoop));
+			}
+			for (Future<Void> result : results) {
+				result.get();
+			}
+		}
+		finally {
+			clients.shutdown();
+			clients.awaitTermination(1, TimeUnit.MINUTES);
+		}
+	}
+
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * The requests a receptionist's browser sends, each timed and recorded under its route
+ * template. A step that gets an unexpected answer records an error and throws
+ * {@link IllegalStateException}, which ends the session.
+ */
+final class FrontDeskClient {
+
+	private static final Pattern OWNER_LINK = Pattern.compile("href=\"/owners/(\\d+)\"");
+
+	private static final Pattern OWNER_LOCATION = Pattern.compile("/owners/(\\d+)$");
+
+	private static final Pattern VISIT_LINK = Pattern.compile("/pets/(\\d+)/visits/new");
+
+	private final HttpClient client = HttpClient.newBuilder()
+		.version(HttpClient.Version.HTTP_1_1)
+		.followRedirects(HttpClient.Redirect.NEVER)
+		.connectTimeout(Duration.ofSeconds(10))
+		.build();
+
+	private final String baseUrl;
+
+	private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+	private volatile boolean measuring;
+
+	FrontDeskClient(String baseUrl) {
+		this.baseUrl = baseUrl;
+	}
+
+	/**
+	 * Start recording latencies, ignoring the requests sent so far.
+	 */
+	void startMeasuring() {
+		this.measuring = true;
+	}
+
+	Map<String, LatencyHistogram> getHistograms() {
+		return this.histograms;
+	}
+
+	/**
+	 * Search owners by last name.
+	 * @return the ids of the owners found
+	 */
+	List<Integer> findOwners(String lastName) {
+		// a single match redirects to that owner, several are listed
+		HttpResponse<String> response = get("GET /owners?lastName", "/owners?lastName=" + encode(lastName), 200, 302);
+		List<Integer> ids = new ArrayList<>();
+		if (response.statusCode() == 302) {
+			response.headers().firstValue("Location").map(OWNER_LOCATION::matcher).filter(Matcher::find).ifPresent(
+					matcher -> ids.add(Integer.valueOf(matcher.group(1))));
+		}
+		else {
+			Matcher matcher = OWNER_LINK.matcher(response.body());
+			while (matcher.find()) {
+				ids.add(Integer.valueOf(matcher.group(1)));
+			}
+		}
+		return ids;
+	}
+
+	/**
+	 * Show the details of an owner with their pets and visits.
+	 * @return the rendered page
+	 */
+	String showOwner(int ownerId) {
+		return get("GET /owners/{ownerId}", "/owners/" + ownerId).body();
+	}
+
+	/**
+	 * Open the new pet form and submit it, then return to the owner.
+	 * @return the id of the new pet
+	 */
+	int addPet(int ownerId, String name, String type) {
+		get("GET /owners/{ownerId}/pets/new", "/owners/" + ownerId + "/pets/new");
+		post("POST /owners/{ownerId}/pets/new", "/owners/" + ownerId + "/pets/new",
+				Map.of("id", "", "version", "", "name", name, "birthDate", LocalDate.now().minusYears(1).toString(),
+						"type", type));
+		Matcher matcher = Pattern.compile(Pattern.quote("<dd>" + name + "</dd>") + ".*?/pets/(\\d+)/visits/new",
+				Pattern.DOTALL)
+			.matcher(showOwner(ownerId));
+		if (!matcher.find()) {
+			throw new IllegalStateException("Pet " + name + " not shown for owner " + ownerId);
+		}
+		return Integer.parseInt(matcher.group(1));
+	}
+
+	/**
+	 * Open the new visit form for a pet and submit it.
+	 */
+	void bookVisit(int ownerId, int petId, String description) {
+		String path = "/owners/" + ownerId + "/pets/" + petId + "/visits/new";
+		get("GET /owners/{ownerId}/pets/{petId}/visits/new", path);
+		post("POST /owners/{ownerId}/pets/{petId}/visits/new", path,
+				Map.of("date", LocalDate.now().plusDays(1).toString(), "description", description));
+	}
+
+	/**
+	 * Show the vet list page.
+	 */
+	void listVets() {
+		get("GET /vets.html", "/vets.html");
+	}
+
+	/**
+	 * Return the ids of the pets on an owner details page, in the order shown.
+	 */
+	static List<Integer> petIds(String ownerPage) {
+		List<Integer> ids = new ArrayList<>();
+		Matcher matcher = VISIT_LINK.matcher(ownerPage);
+		while (matcher.find()) {
+			ids.add(Integer.valueOf(matcher.group(1)));
+		}
+		return ids;
+	}
+
+	private HttpResponse<String> get(String endpoint, String path, int... expectedStatus) {
+		return send(endpoint, HttpRequest.newBuilder(uri(path)).GET().build(),
+				(expectedStatus.length > 0) ? expectedStatus : new int[] { 200 });
+	}
+
+	private void post(String endpoint, String path, Map<String, String> form) {
+		String body = form.entrySet()
+			.stream()
+			.map(field -> encode(field.getKey()) + "=" + encode(field.getValue()))
+			.collect(Collectors.joining("&"));
+		HttpRequest request = HttpRequest.newBuilder(uri(path))
+			.header("Content-Type", "application/x-www-form-urlencoded")
+			.POST(HttpRequest.BodyPublishers.ofString(body))
+			.build();
+		// a form that is not accepted is rendered again with 200 instead of redirecting
+		send(endpoint, request, 302);
+	}
+
+	private HttpResponse<String> send(String endpoint, HttpRequest request, int... expectedStatus) {
+		long start = System.nanoTime();
+		HttpResponse<String> response;
+		try {
+			response = this.client.send(request, HttpResponse.BodyHandlers.ofString());
+		}
+		catch (IOException ex) {
+			record(endpoint, System.nanoTime() - start, false);
+			throw new IllegalStateException(endpoint + " failed", ex);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(endpoint + " interrupted", ex);
+		}
+		int status = response.statusCode();
+		boolean expected = Arrays.stream(expectedStatus).anyMatch(candidate -> candidate == status);
+		record(endpoint, System.nanoTime() - start, expected);
+		if (!expected) {
+			throw new IllegalStateException(endpoint + " answered " + status);
+		}
+		return response;
+	}
+
+	private void record(String endpoint, long nanos, boolean success) {
+		if (this.measuring) {
+			this.histograms.computeIfAbsent(endpoint, key -> new LatencyHistogram()).record(nanos, success);
+		}
+	}
+
+	private URI uri(String path) {
+		return URI.create(this.baseUrl + path);
+	}
+
+	private static String encode(String value) {
+		return URLEncoder.encode(value, StandardCharsets.UTF_8);
+	}
+
+}
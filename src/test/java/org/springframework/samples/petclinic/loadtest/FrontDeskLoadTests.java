@@ -0,0 +1,51 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.web.server.test.LocalServerPort;
+
+/**
+ * Replays the front desk workflows against the application with the load described by
+ * {@link LoadProfile}. By default the application is started with its embedded H2
+ * database; <code>petclinic.loadtest.base-url</code> points the load at a running one
+ * instead. Run with <code>-Dpetclinic.loadtest=true</code>, for example
+ * <code>./mvnw test -Dtest=FrontDeskLoadTests -Dpetclinic.loadtest=true
+ * -Dpetclinic.loadtest.arrival-rate=50</code>; the report is printed at the end.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "petclinic.loadtest", matches = "true")
+class FrontDeskLoadTests {
+
+	@LocalServerPort
+	int port;
+
+	@Test
+	void frontDesk() throws Exception {
+		LoadProfile profile = LoadProfile.fromSystemProperties();
+		String baseUrl = (profile.baseUrl() != null) ? profile.baseUrl() : "http://localhost:" + this.port;
+		LoadGenerator generator = new LoadGenerator(profile, baseUrl);
+		generator.run();
+		generator.printReport(System.out);
+		assertThat(generator.getCompleted()).isPositive();
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.loadtest;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Latencies of the requests to one endpoint. Every sample is kept, so that the
+ * percentiles are exact; a run of a few minutes stays within a few megabytes. Also used
+ * by the benchmarks outside this package, so that all load numbers are reported alike.
+ */
+public final class LatencyHistogram {
+
+	private static final long[] BUCKET_BOUNDS_MILLIS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000 };
+
+	private long[] samples = new long[1024];
+
+	private int count;
+
+	private int errors;
+
+	public synchronized void record(long nanos, boolean success) {
+		if (!success) {
+			this.errors++;
+		}
+		if (this.count == this.samples.length) {
+			this.samples = Arrays.copyOf(this.samples, this.count * 2);
+		}
+		this.samples[this.count++] = nanos;
+	}
+
+	/**
+	 * Print the throughput and the latency distribution.
+	 * @param out where to print
+	 * @param endpoint the endpoint the latencies belong to
+	 * @param seconds the length of the measured period
+	 */
+	public synchronized void print(PrintStream out, String endpoint, double seconds) {
+		long[] sorted = Arrays.copyOf(this.samples, this.count);
+		Arrays.sort(sorted);
+		out.printf("%-44s %7d requests %5d errors %8.1f/s   p50 %7.1f  p95 %7.1f  p99 %7.1f  max %7.1f ms%n", endpoint,
+				this.count, this.errors, this.count / seconds, millis(percentile(sorted, 0.50)),
+				millis(percentile(sorted, 0.95)), millis(percentile(sorted, 0.99)),
+				millis((sorted.length > 0) ? sorted[sorted.length - 1] : 0));
+		StringBuilder buckets = new StringBuilder();
+		int from = 0;
+		for (long bound : BUCKET_BOUNDS_MILLIS) {
+			int to = upperIndex(sorted, bound * 1_000_000);
+			buckets.append(String.format(" <=%dms:%d", bound, to - from));
+			from = to;
+		}
+		buckets.append(String.format(" >%dms:%d", BUCKET_BOUNDS_MILLIS[BUCKET_BOUNDS_MILLIS.length - 1],
+				sorted.length - from));
+		out.printf("%-44s%s%n", "", buckets);
+	}
+
+	private static long percentile(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		return sorted[(int) Math.ceil(sorted.length * percentile) - 1];
+	}
+
+	/**
+	 * Return the number of samples at or below the given bound.
+	 */
+	private static int upperIndex(long[] sorted, long bound) {
+		int index = Arrays.binarySearch(sorted, bound + 1);
+		if (index < 0) {
+			return -index - 1;
+		}
+		// bound + 1 itself is present, step back to its first occurrence
+		while (index > 0 && sorted[index - 1] == bound + 1) {
+			index--;
+		}
+		return index;
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1e6;
+	}
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.loadtest;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Starts sessions at the arrival rate of a {@link LoadProfile}, independently of how
+ * fast earlier sessions complete, so that a slow application faces a growing number of
+ * sessions in progress like it would in production. The rate grows linearly during the
+ * ramp-up; only the requests sent after it are measured.
+ */
+final class LoadGenerator {
+
+	private final LoadProfile profile;
+
+	private final FrontDeskClient client;
+
+	private final List<Scenario> weightedScenarios = new ArrayList<>();
+
+	private final AtomicLong completed = new AtomicLong();
+
+	private final AtomicLong failed = new AtomicLong();
+
+	private final AtomicLong dropped = new AtomicLong();
+
+	private double measuredSeconds;
+
+	LoadGenerator(LoadProfile profile, String baseUrl) {
+		this.profile = profile;
+		this.client = new FrontDeskClient(baseUrl);
+		profile.scenarios().forEach((scenario, weight) -> {
+			for (int i = 0; i < weight; i++) {
+				this.weightedScenarios.add(scenario);
+			}
+		});
+	}
+
+	/**
+	 * Generate the load and wait for the sessions started to complete.
+	 */
+	void run() throws InterruptedException {
+		double rate = this.profile.arrivalRate();
+		double rampUp = this.profile.rampUp().toNanos() / 1e9;
+		double end = rampUp + this.profile.duration().toNanos() / 1e9;
+		Semaphore sessions = new Semaphore(this.profile.maxSessions());
+		ExecutorService executor = Executors.newCachedThreadPool();
+		long start = System.nanoTime();
+		boolean measuring = false;
+		try {
+			for (long arrival = 1;; arrival++) {
+				double at = arrivalTime(arrival, rate, rampUp);
+				if (at >= end) {
+					break;
+				}
+				LockSupport.parkNanos(start + (long) (at * 1e9) - System.nanoTime());
+				if (!measuring && at >= rampUp) {
+					this.client.startMeasuring();
+					measuring = true;
+				}
+				if (!sessions.tryAcquire()) {
+					this.dropped.incrementAndGet();
+					continue;
+				}
+				Scenario scenario = this.weightedScenarios
+					.get(ThreadLocalRandom.current().nextInt(this.weightedScenarios.size()));
+				executor.execute(() -> {
+					try {
+						scenario.run(this.client, this.profile.thinkTime());
+						this.completed.incrementAndGet();
+					}
+					catch (RuntimeException ex) {
+						this.failed.incrementAndGet();
+					}
+					finally {
+						sessions.release();
+					}
+				});
+			}
+		}
+		finally {
+			executor.shutdown();
+			executor.awaitTermination(1, TimeUnit.MINUTES);
+		}
+		this.measuredSeconds = (System.nanoTime() - start) / 1e9 - rampUp;
+	}
+
+	long getCompleted() {
+		return this.completed.get();
+	}
+
+	/**
+	 * Return when the given arrival is due, in seconds from the start: the arrivals so
+	 * far are the integral of a rate that grows linearly to its full value during the
+	 * ramp-up and stays there.
+	 */
+	private static double arrivalTime(long arrival, double rate, double rampUp) {
+		double rampUpArrivals = rate * rampUp / 2;
+		if (arrival < rampUpArrivals) {
+			return Math.sqrt(2 * rampUp * arrival / rate);
+		}
+		return rampUp + (arrival - rampUpArrivals) / rate;
+	}
+
+	/**
+	 * Print the sessions and the latencies per endpoint of the measured period.
+	 */
+	void printReport(PrintStream out) {
+		out.printf("%s at %.1f sessions/s for %s after %s of ramp-up: %d completed, %d failed, %d dropped%n",
+				this.profile.scenarios(), this.profile.arrivalRate(), this.profile.duration(), this.profile.rampUp(),
+				this.completed.get(), this.failed.get(), this.dropped.get());
+		Map<String, LatencyHistogram> histograms = new TreeMap<>(this.client.getHistograms());
+		histograms.forEach((endpoint, histogram) -> histogram.print(out, endpoint, this.measuredSeconds));
+	}
+
+}
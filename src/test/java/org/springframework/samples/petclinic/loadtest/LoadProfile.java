@@ -0,0 +1,89 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The load to generate, read from <code>petclinic.loadtest.*</code> system properties:
+ * <ul>
+ * <li><code>base-url</code>: the application to load, by default the one the test
+ * starts with an embedded H2 database</li>
+ * <li><code>scenarios</code>: the mix of {@link Scenario}s as weighted names, default
+ * <code>front-desk:1,browse:3</code></li>
+ * <li><code>arrival-rate</code>: the sessions started per second once ramped up, whether
+ * or not earlier sessions have completed (an open model), default 20</li>
+ * <li><code>ramp-up</code>: the time in which the arrival rate grows linearly from zero,
+ * default <code>10s</code></li>
+ * <li><code>duration</code>: the time the full arrival rate is held and measured, default
+ * <code>60s</code></li>
+ * <li><code>max-sessions</code>: the sessions in progress at most; arrivals beyond are
+ * dropped and counted, default 500</li>
+ * <li><code>think-time</code>: the pause between two steps of a session, default
+ * <code>0s</code></li>
+ * </ul>
+ * Durations are given as <code>500ms</code>, <code>10s</code> or <code>2m</code>.
+ *
+ * @param baseUrl the application to load, or {@code null} for the embedded one
+ * @param scenarios the scenarios with their weights
+ * @param arrivalRate the sessions started per second
+ * @param rampUp the time to reach the arrival rate
+ * @param duration the time the arrival rate is held
+ * @param maxSessions the sessions in progress at most
+ * @param thinkTime the pause between two steps of a session
+ */
+record LoadProfile(String baseUrl, Map<Scenario, Integer> scenarios, double arrivalRate, Duration rampUp,
+		Duration duration, int maxSessions, Duration thinkTime) {
+
+	private static final String PREFIX = "petclinic.loadtest.";
+
+	static LoadProfile fromSystemProperties() {
+		return new LoadProfile(System.getProperty(PREFIX + "base-url"),
+				scenarios(property("scenarios", "front-desk:1,browse:3")),
+				Double.parseDouble(property("arrival-rate", "20")), duration(property("ramp-up", "10s")),
+				duration(property("duration", "60s")), Integer.parseInt(property("max-sessions", "500")),
+				duration(property("think-time", "0s")));
+	}
+
+	private static String property(String name, String defaultValue) {
+		return System.getProperty(PREFIX + name, defaultValue);
+	}
+
+	private static Map<Scenario, Integer> scenarios(String mix) {
+		Map<Scenario, Integer> scenarios = new LinkedHashMap<>();
+		for (String entry : mix.split(",")) {
+			String[] nameAndWeight = entry.trim().split(":");
+			int weight = (nameAndWeight.length > 1) ? Integer.parseInt(nameAndWeight[1].trim()) : 1;
+			scenarios.put(Scenario.named(nameAndWeight[0].trim()), weight);
+		}
+		return scenarios;
+	}
+
+	private static Duration duration(String value) {
+		if (value.endsWith("ms")) {
+			return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+		}
+		long amount = Long.parseLong(value.substring(0, value.length() - 1));
+		return switch (value.charAt(value.length() - 1)) {
+			case 's' -> Duration.ofSeconds(amount);
+			case 'm' -> Duration.ofMinutes(amount);
+			default -> throw new IllegalArgumentException("Unsupported duration: " + value);
+		};
+	}
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.loadtest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The sessions of a receptionist, each a sequence of {@link FrontDeskClient} steps on
+ * owners of the sample data.
+ */
+enum Scenario {
+
+	/**
+	 * Find an owner, show them, add a pet, book a visit for it and check the vets.
+	 */
+	FRONT_DESK("front-desk") {
+		@Override
+		void run(FrontDeskClient client, Duration thinkTime) {
+			int ownerId = findAndShowOwner(client, thinkTime);
+			int petId = client.addPet(ownerId, "Load " + PET_NAMES.incrementAndGet(), randomOf(PET_TYPES));
+			pause(thinkTime);
+			client.bookVisit(ownerId, petId, "check-up");
+			pause(thinkTime);
+			client.listVets();
+		}
+	},
+
+	/**
+	 * Find an owner, show them and check the vets, without writing anything.
+	 */
+	BROWSE("browse") {
+		@Override
+		void run(FrontDeskClient client, Duration thinkTime) {
+			findAndShowOwner(client, thinkTime);
+			pause(thinkTime);
+			client.listVets();
+		}
+	},
+
+	/**
+	 * Find an owner, show them and book a visit for their first pet.
+	 */
+	BOOK_VISIT("book-visit") {
+		@Override
+		void run(FrontDeskClient client, Duration thinkTime) {
+			int ownerId = findOwner(client, thinkTime);
+			List<Integer> petIds = FrontDeskClient.petIds(client.showOwner(ownerId));
+			if (petIds.isEmpty()) {
+				throw new IllegalStateException("No pet shown for owner " + ownerId);
+			}
+			pause(thinkTime);
+			client.bookVisit(ownerId, petIds.get(0), "vaccination");
+		}
+	};
+
+	private static final List<String> LAST_NAMES = List.of("Franklin", "Rodriquez", "Davis", "McTavish", "Coleman",
+			"Black", "Escobito", "Schroeder", "Estaban");
+
+	private static final List<String> PET_TYPES = List.of("cat", "dog", "lizard", "snake", "bird", "hamster");
+
+	private static final AtomicLong PET_NAMES = new AtomicLong();
+
+	private final String name;
+
+	Scenario(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Run one session.
+	 * @param client the client to send the requests with
+	 * @param thinkTime the pause between two steps
+	 */
+	abstract void run(FrontDeskClient client, Duration thinkTime);
+
+	static Scenario named(String name) {
+		for (Scenario scenario : values()) {
+			if (scenario.name.equals(name)) {
+				return scenario;
+			}
+		}
+		throw new IllegalArgumentException("Unknown scenario: " + name);
+	}
+
+	@Override
+	public String toString() {
+		return this.name;
+	}
+
+	private static int findAndShowOwner(FrontDeskClient client, Duration thinkTime) {
+		int ownerId = findOwner(client, thinkTime);
+		client.showOwner(ownerId);
+		pause(thinkTime);
+		return ownerId;
+	}
+
+	private static int findOwner(FrontDeskClient client, Duration thinkTime) {
+		List<Integer> ownerIds = client.findOwners(randomOf(LAST_NAMES));
+		if (ownerIds.isEmpty()) {
+			throw new IllegalStateException("No owner found");
+		}
+		pause(thinkTime);
+		return randomOf(ownerIds);
+	}
+
+	private static <T> T randomOf(List<T> values) {
+		return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+	}
+
+	private static void pause(Duration thinkTime) {
+		if (!thinkTime.isZero()) {
+			LockSupport.parkNanos(thinkTime.toNanos());
+		}
+	}
+
+}
@@ -21,10 +21,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.samples.petclinic.domain.reference.ReferenceDataRegistry;
+import org.springframework.samples.petclinic.domain.repository.OwnerPetName;
 import org.springframework.samples.petclinic.domain.repository.OwnerRepository;
+import org.springframework.samples.petclinic.domain.repository.OwnerSummary;
+import org.springframework.samples.petclinic.domain.repository.Revision;
+import org.springframework.samples.petclinic.formatting.config.WebConfiguration;
 import org.springframework.samples.petclinic.formatting.persistance.model.PetType;
 import org.springframework.samples.petclinic.formatting.persistance.owner.Owner;
 import org.springframework.samples.petclinic.formatting.persistance.owner.Pet;
@@ -36,6 +44,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -50,6 +59,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -62,6 +74,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * @author Wick Dynex
  */
 @WebMvcTest(OwnerController.class)
+@Import(WebConfiguration.class)
 @DisabledInNativeImage
 @DisabledInAotMode
 class OwnerControllerTests {
@@ -74,6 +87,9 @@ class OwnerControllerTests {
 	@MockitoBean
 	private OwnerRepository owners;
 
+	@MockitoBean
+	private ReferenceDataRegistry referenceData;
+
 	private Owner george() {
 		Owner george = new Owner();
 		george.setId(TEST_OWNER_ID);
@@ -93,14 +109,20 @@ class OwnerControllerTests {
 		return george;
 	}
 
+	private OwnerSummary summary(Owner owner) {
+		return new OwnerSummary(owner.getId(), owner.getFirstName(), owner.getLastName(), owner.getAddress(),
+				owner.getCity(), owner.getTelephone());
+	}
+
 	@BeforeEach
 	void setup() {
 
 		Owner george = george();
-		given(this.owners.findByLastNameStartingWith(eq("Franklin"), any(Pageable.class)))
-			.willReturn(new PageImpl<>(List.of(george)));
+		given(this.owners.findSummariesByLastNameStartingWith(eq("Franklin"), any(Pageable.class)))
+			.willReturn(new PageImpl<>(List.of(summary(george))));
 
 		given(this.owners.findById(TEST_OWNER_ID)).willReturn(Optional.of(george));
+		given(this.owners.findWithPetsAndVisitsById(TEST_OWNER_ID)).willReturn(Optional.of(george));
 		Visit visit = new Visit();
 		visit.setDate(LocalDate.now());
 		george.getPet("Max").getVisits().add(visit);
@@ -147,15 +169,24 @@ class OwnerControllerTests {
 
 	@Test
 	void testProcessFindFormSuccess() throws Exception {
-		Page<Owner> tasks = new PageImpl<>(List.of(george(), new Owner()));
-		when(this.owners.findByLastNameStartingWith(anyString(), any(Pageable.class))).thenReturn(tasks);
-		mockMvc.perform(get("/owners?page=1")).andExpect(status().isOk()).andExpect(view().name("owners/ownersList"));
+		Owner betty = new Owner();
+		betty.setId(2);
+		betty.setLastName("Davis");
+		Page<OwnerSummary> tasks = new PageImpl<>(List.of(summary(george()), summary(betty)));
+		when(this.owners.findSummariesByLastNameStartingWith(anyString(), any(Pageable.class))).thenReturn(tasks);
+		when(this.owners.findPetNamesByOwnerIds(List.of(TEST_OWNER_ID, 2)))
+			.thenReturn(List.of(new OwnerPetName(TEST_OWNER_ID, "Max")));
+		mockMvc.perform(get("/owners?page=1"))
+			.andExpect(status().isOk())
+			.andExpect(model().attribute("listOwners", hasItem(new OwnerSummary(TEST_OWNER_ID, "George", "Franklin",
+					"110 W. Liberty St.", "Madison", "6085551023", List.of("Max")))))
+			.andExpect(view().name("owners/ownersList"));
 	}
 
 	@Test
 	void testProcessFindFormByLastName() throws Exception {
-		Page<Owner> tasks = new PageImpl<>(List.of(george()));
-		when(this.owners.findByLastNameStartingWith(eq("Franklin"), any(Pageable.class))).thenReturn(tasks);
+		Page<OwnerSummary> tasks = new PageImpl<>(List.of(summary(george())));
+		when(this.owners.findSummariesByLastNameStartingWith(eq("Franklin"), any(Pageable.class))).thenReturn(tasks);
 		mockMvc.perform(get("/owners?page=1").param("lastName", "Franklin"))
 			.andExpect(status().is3xxRedirection())
 			.andExpect(view().name("redirect:/owners/" + TEST_OWNER_ID));
@@ -163,8 +194,9 @@ class OwnerControllerTests {
 
 	@Test
 	void testProcessFindFormNoOwnersFound() throws Exception {
-		Page<Owner> tasks = new PageImpl<>(List.of());
-		when(this.owners.findByLastNameStartingWith(eq("Unknown Surname"), any(Pageable.class))).thenReturn(tasks);
+		Page<OwnerSummary> tasks = new PageImpl<>(List.of());
+		when(this.owners.findSummariesByLastNameStartingWith(eq("Unknown Surname"), any(Pageable.class)))
+			.thenReturn(tasks);
 		mockMvc.perform(get("/owners?page=1").param("lastName", "Unknown Surname"))
 			.andExpect(status().isOk())
 			.andExpect(model().attributeHasFieldErrors("owner", "lastName"))
@@ -198,6 +230,47 @@ class OwnerControllerTests {
 			.andExpect(view().name("redirect:/owners/{ownerId}"));
 	}
 
+	@Test
+	void testProcessUpdateOwnerFormRetriedAfterConcurrentSave() throws Exception {
+		given(this.owners.save(any(Owner.class)))
+			.willThrow(new ObjectOptimisticLockingFailureException(Owner.class, TEST_OWNER_ID))
+			.willAnswer(invocation -> invocation.getArgument(0));
+
+		mockMvc
+			.perform(post("/owners/{ownerId}/edit", TEST_OWNER_ID).param("firstName", "Joe")
+				.param("lastName", "Bloggs")
+				.param("address", "123 Caramel Street")
+				.param("city", "London")
+				.param("telephone", "1616291589"))
+			.andExpect(status().is3xxRedirection())
+			.andExpect(view().name("redirect:/owners/{ownerId}"));
+		verify(this.owners, times(2)).save(any(Owner.class));
+	}
+
+	@Test
+	void testProcessUpdateOwnerFormConflict() throws Exception {
+		Owner current = george();
+		current.setVersion(2);
+		given(this.owners.findById(TEST_OWNER_ID)).willReturn(Optional.of(george()), Optional.of(current));
+		given(this.owners.save(any(Owner.class)))
+			.willThrow(new ObjectOptimisticLockingFailureException(Owner.class, TEST_OWNER_ID));
+
+		mockMvc
+			.perform(post("/owners/{ownerId}/edit", TEST_OWNER_ID).param("version", "1")
+				.param("firstName", "Joe")
+				.param("lastName", "Bloggs")
+				.param("address", "123 Caramel Street")
+				.param("city", "London")
+				.param("telephone", "1616291589"))
+			.andExpect(status().isConflict())
+			.andExpect(model().attributeHasErrors("owner"))
+			.andExpect(model().attribute("owner", hasProperty("version", is(2))))
+			.andExpect(model().attribute("owner", hasProperty("firstName", is("Joe"))))
+			.andExpect(view().name("owners/createOrUpdateOwnerForm"));
+		// the stale version is not retried
+		verify(this.owners, times(1)).save(any(Owner.class));
+	}
+
 	@Test
 	void testProcessUpdateOwnerFormUnchangedSuccess() throws Exception {
 		mockMvc.perform(post("/owners/{ownerId}/edit", TEST_OWNER_ID))
@@ -232,6 +305,61 @@ class OwnerControllerTests {
 			.andExpect(model().attribute("owner",
 					hasProperty("pets", hasItem(hasProperty("visits", hasSize(greaterThan(0)))))))
 			.andExpect(view().name("owners/ownerDetails"));
+		verify(this.owners, times(1)).findWithPetsAndVisitsById(TEST_OWNER_ID);
+		verify(this.owners, never()).findById(TEST_OWNER_ID);
+	}
+
+	@Test
+	void testShowOwnerNotModified() throws Exception {
+		given(this.owners.findRevisionById(TEST_OWNER_ID))
+			.willReturn(Optional.of(new Revision(3, 3, 0, LocalDateTime.of(2024, 1, 1, 12, 0))));
+		String etag = mockMvc.perform(get("/owners/{ownerId}", TEST_OWNER_ID))
+			.andExpect(status().isOk())
+			.andExpect(header().exists(HttpHeaders.ETAG))
+			.andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+			.andReturn()
+			.getResponse()
+			.getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/owners/{ownerId}", TEST_OWNER_ID).header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isNotModified())
+			.andExpect(content().string(""));
+		// loaded for the first request only
+		verify(this.owners, times(1)).findWithPetsAndVisitsById(TEST_OWNER_ID);
+	}
+
+	@Test
+	void testShowOwnerModifiedSinceLastView() throws Exception {
+		given(this.owners.findRevisionById(TEST_OWNER_ID))
+			.willReturn(Optional.of(new Revision(3, 3, 0, LocalDateTime.of(2024, 1, 1, 12, 0))));
+		String etag = mockMvc.perform(get("/owners/{ownerId}", TEST_OWNER_ID))
+			.andReturn()
+			.getResponse()
+			.getHeader(HttpHeaders.ETAG);
+		given(this.owners.findRevisionById(TEST_OWNER_ID))
+			.willReturn(Optional.of(new Revision(3, 3, 1, LocalDateTime.of(2024, 1, 1, 12, 5))));
+
+		mockMvc.perform(get("/owners/{ownerId}", TEST_OWNER_ID).header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+			.andExpect(view().name("owners/ownerDetails"));
+	}
+
+	@Test
+	void testShowOwnerAfterReferenceDataChanged() throws Exception {
+		given(this.owners.findRevisionById(TEST_OWNER_ID))
+			.willReturn(Optional.of(new Revision(3, 3, 0, LocalDateTime.of(2024, 1, 1, 12, 0))));
+		given(this.referenceData.getRevision()).willReturn("before");
+		String etag = mockMvc.perform(get("/owners/{ownerId}", TEST_OWNER_ID))
+			.andReturn()
+			.getResponse()
+			.getHeader(HttpHeaders.ETAG);
+		// a pet type renamed, which leaves the rows of the owner unchanged
+		given(this.referenceData.getRevision()).willReturn("after");
+
+		mockMvc.perform(get("/owners/{ownerId}", TEST_OWNER_ID).header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, not(etag)));
 	}
 
 	@Test
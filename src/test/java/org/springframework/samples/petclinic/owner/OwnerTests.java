@@ -0,0 +1,100 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.samples.petclinic.formatting.persistance.owner.Owner;
+import org.springframework.samples.petclinic.formatting.persistance.owner.Pet;
+
+/**
+ * Test class for the pet lookups of {@link Owner}.
+ */
+class OwnerTests {
+
+	@Test
+	void testGetPetByIdAndName() {
+		Owner owner = new Owner();
+		Pet leo = addPet(owner, "Leo", 1);
+		Pet basil = addPet(owner, "Basil", 2);
+		assertThat(owner.getPet(2)).isSameAs(basil);
+		assertThat(owner.getPet(3)).isNull();
+		assertThat(owner.getPet("leo")).isSameAs(leo);
+		assertThat(owner.getPet("BASIL", true)).isSameAs(basil);
+		assertThat(owner.getPet("Rosy")).isNull();
+	}
+
+	@Test
+	void testGetUnsavedPet() {
+		Owner owner = new Owner();
+		Pet pet = addPet(owner, "Leo", null);
+		assertThat(owner.getPet("Leo", false)).isSameAs(pet);
+		assertThat(owner.getPet("Leo", true)).isNull();
+
+		// saved after it was looked up
+		pet.setId(1);
+		assertThat(owner.getPet(1)).isSameAs(pet);
+		assertThat(owner.getPet("Leo", true)).isSameAs(pet);
+	}
+
+	@Test
+	void testGetPetAfterChanges() {
+		Owner owner = new Owner();
+		Pet pet = addPet(owner, "Leo", 1);
+		assertThat(owner.getPet("Leo")).isSameAs(pet);
+
+		pet.setName("Max");
+		assertThat(owner.getPet("Leo")).isNull();
+		assertThat(owner.getPet("max")).isSameAs(pet);
+
+		Pet other = addPet(owner, "Leo", 2);
+		assertThat(owner.getPet("Leo")).isSameAs(other);
+		assertThat(owner.getPet(2)).isSameAs(other);
+	}
+
+	@Test
+	void testGetPetReturnsFirstMatchingName() {
+		Owner owner = new Owner();
+		Pet unsaved = addPet(owner, "leo", null);
+		Pet saved = addPet(owner, "Leo", 1);
+		assertThat(owner.getPet("LEO", false)).isSameAs(unsaved);
+		assertThat(owner.getPet("LEO", true)).isSameAs(saved);
+	}
+
+	@Test
+	void testGetOtherPetSkipsTheGivenId() {
+		Owner owner = new Owner();
+		Pet leo = addPet(owner, "Leo", 1);
+		assertThat(owner.getOtherPet("leo", 1)).isNull();
+		assertThat(owner.getOtherPet("leo", null)).isSameAs(leo);
+
+		// the edited pet comes first but does not hide another pet of the same name
+		Pet other = addPet(owner, "LEO", 2);
+		assertThat(owner.getOtherPet("Leo", 1)).isSameAs(other);
+		assertThat(owner.getOtherPet("Leo", 2)).isSameAs(leo);
+		assertThat(owner.getOtherPet("Max", 1)).isNull();
+	}
+
+	private static Pet addPet(Owner owner, String name, Integer id) {
+		Pet pet = new Pet();
+		pet.setName(name);
+		owner.addPet(pet);
+		pet.setId(id);
+		return pet;
+	}
+
+}
@@ -22,10 +22,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.context.annotation.ComponentScan;
-import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.samples.petclinic.domain.reference.ReferenceDataRegistry;
 import org.springframework.samples.petclinic.domain.repository.OwnerRepository;
-import org.springframework.samples.petclinic.domain.repository.PetTypeRepository;
 import org.springframework.samples.petclinic.formatting.formatting.PetTypeFormatter;
 import org.springframework.samples.petclinic.formatting.persistance.model.PetType;
 import org.springframework.samples.petclinic.formatting.persistance.owner.Owner;
@@ -39,7 +39,12 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
@@ -52,8 +57,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * @author Colin But
  * @author Wick Dynex
  */
-@WebMvcTest(value = PetController.class,
-		includeFilters = @ComponentScan.Filter(value = PetTypeFormatter.class, type = FilterType.ASSIGNABLE_TYPE))
+@WebMvcTest(PetController.class)
+@Import(PetTypeFormatter.class)
 @DisabledInNativeImage
 @DisabledInAotMode
 class PetControllerTests {
@@ -69,25 +74,28 @@ class PetControllerTests {
 	private OwnerRepository owners;
 
 	@MockitoBean
-	private PetTypeRepository types;
+	private ReferenceDataRegistry referenceData;
+
+	private Owner owner;
 
 	@BeforeEach
 	void setup() {
 		PetType cat = new PetType();
 		cat.setId(3);
 		cat.setName("hamster");
-		given(this.types.findPetTypes()).willReturn(List.of(cat));
+		given(this.referenceData.getPetTypes()).willReturn(List.of(cat));
+		given(this.referenceData.findPetType("hamster")).willReturn(Optional.of(cat));
 
-		Owner owner = new Owner();
+		this.owner = new Owner();
 		Pet pet = new Pet();
 		Pet dog = new Pet();
-		owner.addPet(pet);
-		owner.addPet(dog);
+		this.owner.addPet(pet);
+		this.owner.addPet(dog);
 		pet.setId(TEST_PET_ID);
 		dog.setId(TEST_PET_ID + 1);
 		pet.setName("petty");
 		dog.setName("doggy");
-		given(this.owners.findById(TEST_OWNER_ID)).willReturn(Optional.of(owner));
+		given(this.owners.findWithPetsById(TEST_OWNER_ID)).willReturn(Optional.of(this.owner));
 	}
 
 	@Test
@@ -108,6 +116,18 @@ class PetControllerTests {
 			.andExpect(view().name("redirect:/owners/{ownerId}"));
 	}
 
+	@Test
+	void testProcessCreationFormKeepsOwnerVersion() throws Exception {
+		this.owner.setVersion(3);
+		mockMvc
+			.perform(post("/owners/{ownerId}/pets/new", TEST_OWNER_ID).param("name", "Betty")
+				.param("type", "hamster")
+				.param("birthDate", "2015-02-12")
+				.param("version", ""))
+			.andExpect(status().is3xxRedirection());
+		assertThat(this.owner.getVersion()).isEqualTo(3);
+	}
+
 	@Nested
 	class ProcessCreationFormHasErrors {
 
@@ -176,6 +196,13 @@ class PetControllerTests {
 
 	}
 
+	@Test
+	void testInitUpdateFormLoadsOwnerOnce() throws Exception {
+		mockMvc.perform(get("/owners/{ownerId}/pets/{petId}/edit", TEST_OWNER_ID, TEST_PET_ID))
+			.andExpect(status().isOk());
+		then(this.owners).should().findWithPetsById(TEST_OWNER_ID);
+	}
+
 	@Test
 	void testProcessUpdateFormSuccess() throws Exception {
 		mockMvc
@@ -186,6 +213,29 @@ class PetControllerTests {
 			.andExpect(view().name("redirect:/owners/{ownerId}"));
 	}
 
+	@Test
+	void testProcessUpdateFormConflict() throws Exception {
+		Owner current = new Owner();
+		Pet pet = new Pet();
+		current.addPet(pet);
+		pet.setId(TEST_PET_ID);
+		pet.setName("petty");
+		pet.setVersion(2);
+		given(this.owners.findWithPetsById(TEST_OWNER_ID)).willReturn(Optional.of(this.owner), Optional.of(current));
+		given(this.owners.save(any(Owner.class)))
+			.willThrow(new ObjectOptimisticLockingFailureException(Pet.class, TEST_PET_ID));
+
+		mockMvc
+			.perform(post("/owners/{ownerId}/pets/{petId}/edit", TEST_OWNER_ID, TEST_PET_ID).param("version", "1")
+				.param("name", "Betty")
+				.param("type", "hamster")
+				.param("birthDate", "2015-02-12"))
+			.andExpect(status().isConflict())
+			.andExpect(model().attributeHasErrors("pet"))
+			.andExpect(model().attribute("pet", hasProperty("version", is(2))))
+			.andExpect(view().name("pets/createOrUpdatePetForm"));
+	}
+
 	@Nested
 	class ProcessUpdateFormHasErrors {
 
@@ -201,6 +251,17 @@ class PetControllerTests {
 				.andExpect(view().name("pets/createOrUpdatePetForm"));
 		}
 
+		@Test
+		void testProcessUpdateFormWithDuplicateName() throws Exception {
+			mockMvc
+				.perform(post("/owners/{ownerId}/pets/{petId}/edit", TEST_OWNER_ID, TEST_PET_ID).param("name", "doggy")
+					.param("type", "hamster")
+					.param("birthDate", "2015-02-12"))
+				.andExpect(model().attributeHasErrors("pet"))
+				.andExpect(model().attributeHasFieldErrorCode("pet", "name", "duplicate"))
+				.andExpect(view().name("pets/createOrUpdatePetForm"));
+		}
+
 		@Test
 		void testProcessUpdateFormWithBlankName() throws Exception {
 			mockMvc
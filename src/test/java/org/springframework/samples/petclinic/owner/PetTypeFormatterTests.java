@@ -20,10 +20,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 
 import java.text.ParseException;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,7 +30,7 @@ import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.samples.petclinic.domain.repository.PetTypeRepository;
+import org.springframework.samples.petclinic.domain.reference.ReferenceDataRegistry;
 import org.springframework.samples.petclinic.formatting.formatting.PetTypeFormatter;
 import org.springframework.samples.petclinic.formatting.persistance.model.PetType;
 
@@ -46,13 +44,13 @@ import org.springframework.samples.petclinic.formatting.persistance.model.PetTyp
 class PetTypeFormatterTests {
 
 	@Mock
-	private PetTypeRepository types;
+	private ReferenceDataRegistry referenceData;
 
 	private PetTypeFormatter petTypeFormatter;
 
 	@BeforeEach
 	void setup() {
-		this.petTypeFormatter = new PetTypeFormatter(types);
+		this.petTypeFormatter = new PetTypeFormatter(referenceData);
 	}
 
 	@Test
@@ -65,36 +63,19 @@ class PetTypeFormatterTests {
 
 	@Test
 	void shouldParse() throws ParseException {
-		given(types.findPetTypes()).willReturn(makePetTypes());
+		PetType bird = new PetType();
+		bird.setName("Bird");
+		given(referenceData.findPetType("Bird")).willReturn(Optional.of(bird));
 		PetType petType = petTypeFormatter.parse("Bird", Locale.ENGLISH);
 		assertThat(petType.getName()).isEqualTo("Bird");
 	}
 
 	@Test
 	void shouldThrowParseException() {
-		given(types.findPetTypes()).willReturn(makePetTypes());
+		given(referenceData.findPetType("Fish")).willReturn(Optional.empty());
 		Assertions.assertThrows(ParseException.class, () -> {
 			petTypeFormatter.parse("Fish", Locale.ENGLISH);
 		});
 	}
 
-	/**
-	 * Helper method to produce some sample pet types just for test purpose
-	 * @return {@link Collection} of {@link PetType}
-	 */
-	private List<PetType> makePetTypes() {
-		List<PetType> petTypes = new ArrayList<>();
-		petTypes.add(new PetType() {
-			{
-				setName("Dog");
-			}
-		});
-		petTypes.add(new PetType() {
-			{
-				setName("Bird");
-			}
-		});
-		return petTypes;
-	}
-
 }
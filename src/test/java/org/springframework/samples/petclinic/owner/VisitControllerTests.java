@@ -16,7 +16,12 @@
 
 package org.springframework.samples.petclinic.owner;
 
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
@@ -29,8 +34,11 @@ import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.samples.petclinic.domain.repository.OwnerRepository;
+import org.springframework.samples.petclinic.domain.repository.PetRepository;
+import org.springframework.samples.petclinic.domain.repository.VisitRepository;
 import org.springframework.samples.petclinic.formatting.persistance.owner.Owner;
 import org.springframework.samples.petclinic.formatting.persistance.owner.Pet;
+import org.springframework.samples.petclinic.formatting.persistance.owner.Visit;
 import org.springframework.samples.petclinic.web.controller.VisitController;
 import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -38,6 +46,8 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Optional;
 
+import jakarta.servlet.ServletException;
+
 /**
  * Test class for {@link VisitController}
  *
@@ -59,13 +69,21 @@ class VisitControllerTests {
 	@MockitoBean
 	private OwnerRepository owners;
 
+	@MockitoBean
+	private PetRepository pets;
+
+	@MockitoBean
+	private VisitRepository visits;
+
 	@BeforeEach
 	void init() {
 		Owner owner = new Owner();
 		Pet pet = new Pet();
 		owner.addPet(pet);
 		pet.setId(TEST_PET_ID);
-		given(this.owners.findById(TEST_OWNER_ID)).willReturn(Optional.of(owner));
+		given(this.owners.findWithPetsAndVisitsById(TEST_OWNER_ID)).willReturn(Optional.of(owner));
+		given(this.pets.countByOwner(TEST_OWNER_ID, TEST_PET_ID)).willReturn(1L);
+		given(this.pets.getReferenceById(TEST_PET_ID)).willReturn(pet);
 	}
 
 	@Test
@@ -83,6 +101,17 @@ class VisitControllerTests {
 				.param("description", "Visit Description"))
 			.andExpect(status().is3xxRedirection())
 			.andExpect(view().name("redirect:/owners/{ownerId}"));
+		then(this.visits).should().save(any(Visit.class));
+		then(this.owners).should(never()).findWithPetsAndVisitsById(anyInt());
+	}
+
+	@Test
+	void testProcessNewVisitFormForPetOfOtherOwner() throws Exception {
+		assertThatExceptionOfType(ServletException.class)
+			.isThrownBy(() -> mockMvc.perform(post("/owners/{ownerId}/pets/{petId}/visits/new", TEST_OWNER_ID, 2)
+				.param("description", "Visit Description")))
+			.withCauseInstanceOf(IllegalArgumentException.class);
+		then(this.visits).should(never()).save(any(Visit.class));
 	}
 
 	@Test
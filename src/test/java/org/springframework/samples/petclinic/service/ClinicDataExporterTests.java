@@ -0,0 +1,65 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.samples.petclinic.domain.transfer.ClinicDataExporter;
+import org.springframework.samples.petclinic.domain.transfer.ClinicDataImporter;
+import org.springframework.samples.petclinic.domain.transfer.ImportReport;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration test of {@link ClinicDataExporter}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ClinicDataExporterTests {
+
+	@Autowired
+	private ClinicDataExporter exporter;
+
+	@Autowired
+	private ClinicDataImporter importer;
+
+	@Test
+	@Transactional
+	void shouldExportWhatTheImporterReads() {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		this.exporter.export(output);
+		String exported = output.toString(StandardCharsets.UTF_8);
+
+		List<String> lines = exported.lines().toList();
+		assertThat(lines).filteredOn(line -> line.startsWith("{\"type\":\"owner\"")).hasSize(10);
+		assertThat(lines).filteredOn(line -> line.startsWith("{\"type\":\"pet\"")).hasSize(13);
+		assertThat(lines).filteredOn(line -> line.startsWith("{\"type\":\"visit\"")).hasSize(4);
+		assertThat(lines.get(0)).contains("\"ref\":\"o1\"", "\"lastName\":\"Franklin\"");
+
+		ImportReport report = this.importer.importRecords(new StringReader(exported));
+		assertThat(report.rejected()).isZero();
+		assertThat(report.owners()).isEqualTo(10);
+		assertThat(report.pets()).isEqualTo(13);
+		assertThat(report.visits()).isEqualTo(4);
+	}
+
+}
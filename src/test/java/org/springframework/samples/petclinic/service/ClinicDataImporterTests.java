@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.samples.petclinic.domain.repository.OwnerRepository;
+import org.springframework.samples.petclinic.domain.transfer.ClinicDataImporter;
+import org.springframework.samples.petclinic.domain.transfer.ImportReport;
+import org.springframework.samples.petclinic.formatting.persistance.owner.Owner;
+import org.springframework.samples.petclinic.formatting.persistance.owner.Pet;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration test of {@link ClinicDataImporter}. Runs in a transaction that is rolled
+ * back, which the import chunks join.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Transactional
+class ClinicDataImporterTests {
+
+	@Autowired
+	private ClinicDataImporter importer;
+
+	@Autowired
+	private OwnerRepository owners;
+
+	@Test
+	void shouldImportValidRowsAndReportTheOthers() {
+		String input = """
+				{"type":"owner","ref":"o1","firstName":"Ada","lastName":"Importer","address":"1 Main St.","city":"Madison","telephone":"6085550000"}
+				{"type":"pet","ref":"p1","owner":"o1","name":"Rex","birthDate":"2020-01-01","petType":"dog"}
+				{"type":"visit","pet":"p1","date":"2024-05-01","description":"checkup"}
+
+				{"type":"owner","ref":"o2","firstName":"Bad","lastName":"Phone","address":"2 Main St.","city":"Madison","telephone":"12"}
+				{"type":"pet","ref":"p2","owner":"o2","name":"Orphan","birthDate":"2020-01-01","petType":"dog"}
+				{"type":"pet","ref":"p3","owner":"o1","name":"Nemo","birthDate":"2020-01-01","petType":"fish"}
+				{"type":"visit","pet":"p1","description":""}
+				not json
+				""";
+
+		ImportReport report = this.importer.importRecords(new StringReader(input));
+
+		assertThat(report.owners()).isEqualTo(1);
+		assertThat(report.pets()).isEqualTo(1);
+		assertThat(report.visits()).isEqualTo(1);
+		assertThat(report.rejected()).isEqualTo(5);
+		assertThat(report.errors()).extracting(ImportReport.RowError::line).containsExactly(5L, 6L, 7L, 8L, 9L);
+		assertThat(report.errors().get(0).message()).startsWith("telephone");
+		assertThat(report.errors().get(1).message()).isEqualTo("unknown owner: o2");
+		assertThat(report.errors().get(2).message()).isEqualTo("unknown pet type: fish");
+
+		Owner owner = this.owners.findByLastNameStartingWith("Importer", Pageable.unpaged()).getContent().get(0);
+		Pet rex = owner.getPet("Rex");
+		assertThat(rex).isNotNull();
+		assertThat(rex.getType().getName()).isEqualTo("dog");
+		assertThat(rex.getVisits()).hasSize(1);
+	}
+
+	@Test
+	void shouldRejectReusedRefs() {
+		String input = """
+				{"type":"owner","ref":"o1","firstName":"Ada","lastName":"Importer","address":"1 Main St.","city":"Madison","telephone":"6085550000"}
+				{"type":"owner","ref":"o1","firstName":"Bob","lastName":"Importer","address":"2 Main St.","city":"Madison","telephone":"6085550000"}
+				{"type":"pet","ref":"p1","owner":"o1","name":"Rex","birthDate":"2020-01-01","petType":"dog"}
+				{"type":"pet","ref":"p1","owner":"o1","name":"Max","birthDate":"2020-01-01","petType":"dog"}
+				{"type":"visit","pet":"p1","date":"2024-05-01","description":"checkup"}
+				""";
+
+		ImportReport report = this.importer.importRecords(new StringReader(input));
+
+		assertThat(report.owners()).isEqualTo(1);
+		assertThat(report.pets()).isEqualTo(1);
+		assertThat(report.rejected()).isEqualTo(2);
+		assertThat(report.errors()).extracting(ImportReport.RowError::message)
+			.containsExactly("duplicate owner ref: o1", "duplicate pet ref: p1");
+
+		Owner owner = this.owners.findByLastNameStartingWith("Importer", Pageable.unpaged()).getContent().get(0);
+		assertThat(owner.getFirstName()).isEqualTo("Ada");
+		assertThat(owner.getPet("Rex").getVisits()).hasSize(1);
+	}
+
+	@Test
+	void shouldNotCountRowsOfARolledBackChunk() {
+		String input = """
+				{"type":"owner","ref":"o1","firstName":"Ada","lastName":"Rollback","address":"1 Main St.","city":"Madison","telephone":"6085550000"}
+				{"type":"owner","ref":"o3","firstName":"Bad","lastName":"Phone","address":"3 Main St.","city":"Madison","telephone":"12"}
+				{"type":"owner","ref":"o2","firstName":"Bob","lastName":"Rollback","address":"2 Main St.","city":"%s","telephone":"6085550000"}
+				""".formatted("x".repeat(100));
+
+		ImportReport report = this.importer.importRecords(new StringReader(input));
+
+		assertThat(report.owners()).isZero();
+		assertThat(report.rejected()).isZero();
+		assertThat(report.errors()).extracting(ImportReport.RowError::line).containsExactly(1L);
+		assertThat(report.errors().get(0).message()).startsWith("rows 1 to 3 rolled back");
+	}
+
+}
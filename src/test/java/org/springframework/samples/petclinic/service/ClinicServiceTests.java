@@ -20,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
@@ -27,16 +28,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.samples.petclinic.QueryBudget;
 import org.springframework.samples.petclinic.formatting.persistance.owner.Owner;
+import org.springframework.samples.petclinic.domain.repository.OwnerPetName;
 import org.springframework.samples.petclinic.domain.repository.OwnerRepository;
+import org.springframework.samples.petclinic.domain.repository.OwnerSummary;
+import org.springframework.samples.petclinic.domain.repository.PetRepository;
 import org.springframework.samples.petclinic.domain.repository.PetTypeRepository;
+import org.springframework.samples.petclinic.domain.repository.Revision;
 import org.springframework.samples.petclinic.formatting.persistance.owner.Pet;
 import org.springframework.samples.petclinic.formatting.persistance.model.PetType;
 import org.springframework.samples.petclinic.formatting.persistance.owner.Visit;
 import org.springframework.samples.petclinic.formatting.persistance.vet.Vet;
 import org.springframework.samples.petclinic.domain.repository.VetRepository;
+import org.springframework.samples.petclinic.domain.repository.VisitRepository;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -67,7 +77,9 @@ import org.springframework.transaction.annotation.Transactional;
  * @author Michael Isvy
  * @author Dave Syer
  */
-@DataJpaTest
+@DataJpaTest(properties = "petclinic.hibernate-statistics.enabled=true")
+// Fail on N+1 patterns: no test needs more than a handful of statements
+@QueryBudget(statements = 10)
 // Ensure that if the mysql profile is active we connect to the real database:
 @AutoConfigureTestDatabase(replace = Replace.NONE)
 // @TestPropertySource("/application-postgres.properties")
@@ -82,6 +94,12 @@ class ClinicServiceTests {
 	@Autowired
 	protected VetRepository vets;
 
+	@Autowired
+	protected PetRepository pets;
+
+	@Autowired
+	protected VisitRepository visits;
+
 	private final Pageable pageable = Pageable.unpaged();
 
 	@Test
@@ -93,6 +111,33 @@ class ClinicServiceTests {
 		assertThat(owners).isEmpty();
 	}
 
+	@Test
+	void shouldFindOwnerSummariesByLastName() {
+		Page<OwnerSummary> owners = this.owners.findSummariesByLastNameStartingWith("Davis", pageable);
+		assertThat(owners).hasSize(2);
+		assertThat(owners).allSatisfy(owner -> assertThat(owner.pets()).isEmpty());
+
+		List<OwnerPetName> petNames = this.owners
+			.findPetNamesByOwnerIds(owners.map(OwnerSummary::id).getContent());
+		assertThat(petNames).extracting(OwnerPetName::name).containsExactly("Basil", "Iggy");
+	}
+
+	@Test
+	void shouldPageOwnerSummariesWithoutOffset() {
+		List<OwnerSummary> first = this.owners.findSummariesByLastNameStartingWithAfter("", "", 0, Limit.of(3));
+		assertThat(first).hasSize(3);
+
+		OwnerSummary last = first.get(2);
+		List<OwnerSummary> next = this.owners.findSummariesByLastNameStartingWithAfter("", last.lastName(),
+				last.id(), Limit.of(3));
+		Page<OwnerSummary> offset = this.owners.findSummariesByLastNameStartingWith("", PageRequest.of(1, 3));
+		assertThat(next).isEqualTo(offset.getContent());
+
+		Slice<OwnerSummary> slice = this.owners.findSummarySliceByLastNameStartingWith("", PageRequest.of(1, 3));
+		assertThat(slice.getContent()).isEqualTo(offset.getContent());
+		assertThat(slice.hasNext()).isTrue();
+	}
+
 	@Test
 	void shouldFindSingleOwnerWithPet() {
 		Optional<Owner> optionalOwner = this.owners.findById(1);
@@ -202,6 +247,24 @@ class ClinicServiceTests {
 	}
 
 	@Test
+	@Transactional
+	void shouldCountEachPetOnceInTheOwnerRevision() {
+		// owner 6 with pets 7 and 8, which have two visits each
+		Revision before = this.owners.findRevisionById(6).orElseThrow();
+		assertThat(before.rows()).isEqualTo(7);
+
+		Owner owner6 = this.owners.findById(6).orElseThrow();
+		Pet pet7 = owner6.getPet(7);
+		pet7.setName(pet7.getName() + "X");
+		this.owners.save(owner6);
+
+		Revision after = this.owners.findRevisionById(6).orElseThrow();
+		assertThat(after.rows()).isEqualTo(before.rows());
+		assertThat(after.versions()).isEqualTo(before.versions() + 1);
+	}
+
+	@Test
+	@QueryBudget(statements = 1, collectionFetches = 0)
 	void shouldFindVets() {
 		Collection<Vet> vets = this.vets.findAll();
 
@@ -232,6 +295,22 @@ class ClinicServiceTests {
 			.allMatch(value -> value.getId() != null);
 	}
 
+	@Test
+	@Transactional
+	void shouldBookVisitForOwnedPet() {
+		assertThat(this.pets.countByOwner(6, 7)).isEqualTo(1);
+		assertThat(this.pets.countByOwner(1, 7)).isZero();
+
+		Visit visit = new Visit();
+		visit.setDescription("test");
+		visit.setPet(this.pets.getReferenceById(7));
+		this.visits.save(visit);
+		assertThat(visit.getId()).isNotNull();
+
+		Pet pet7 = this.owners.findById(6).orElseThrow().getPet(7);
+		assertThat(pet7.getVisits()).extracting(Visit::getId).contains(visit.getId());
+	}
+
 	@Test
 	void shouldFindVisitsByPetId() {
 		Optional<Owner> optionalOwner = this.owners.findById(6);
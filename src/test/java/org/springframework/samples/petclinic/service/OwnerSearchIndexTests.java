@@ -0,0 +1,137 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.samples.petclinic.domain.repository.OwnerRepository;
+import org.springframework.samples.petclinic.domain.repository.OwnerSummary;
+import org.springframework.samples.petclinic.domain.search.OwnerSearchIndex;
+import org.springframework.samples.petclinic.formatting.persistance.owner.Owner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration test of the {@link OwnerSearchIndex} and of its updates through the owner
+ * entity listener.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+		properties = "petclinic.owner-search.engine=trigram")
+class OwnerSearchIndexTests {
+
+	@Autowired
+	private OwnerSearchIndex index;
+
+	@Autowired
+	private OwnerRepository owners;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void shouldFindAnyPartOfNamesAndCities() {
+		assertThat(search("AVI")).extracting(OwnerSummary::firstName)
+			.containsExactly("Betty", "Harold", "Peter", "David");
+		assertThat(search("prair")).extracting(OwnerSummary::lastName).containsExactly("Davis");
+		assertThat(search("xyz")).isEmpty();
+	}
+
+	@Test
+	void shouldReturnOnlyTheRequestedPage() {
+		Page<OwnerSummary> first = this.index.search("AVI", PageRequest.of(0, 2));
+		assertThat(first.getContent()).extracting(OwnerSummary::firstName).containsExactly("Betty", "Harold");
+		assertThat(first.getTotalElements()).isEqualTo(4);
+		assertThat(this.index.search("AVI", PageRequest.of(1, 2))).extracting(OwnerSummary::firstName)
+			.containsExactly("Peter", "David");
+		assertThat(this.index.search("AVI", PageRequest.of(2, 2))).isEmpty();
+	}
+
+	@Test
+	void shouldReturnTheOwnersAfterTheLastOneSeen() {
+		assertThat(this.index.searchAfter("AVI", "", 0, Limit.of(3))).extracting(OwnerSummary::firstName)
+			.containsExactly("Betty", "Harold", "Peter");
+		assertThat(this.index.searchAfter("AVI", "Davis", 4, Limit.of(3))).extracting(OwnerSummary::firstName)
+			.containsExactly("Peter", "David");
+	}
+
+	@Test
+	void shouldLeaveTextsShorterThanAGramToTheDatabase() {
+		assertThat(this.index.isSearchable("")).isFalse();
+		assertThat(this.index.isSearchable("da")).isFalse();
+		assertThat(this.index.isSearchable("dav")).isTrue();
+		assertThat(search("")).isEmpty();
+		assertThat(search("da")).isEmpty();
+	}
+
+	@Test
+	void shouldKeepCommittedOwnersAcrossARebuild() {
+		TransactionTemplate transaction = new TransactionTemplate(this.transactionManager);
+		Owner saved = transaction.execute(status -> this.owners.save(owner("Johnson")));
+		try {
+			this.index.rebuild();
+			assertThat(this.index.size()).isEqualTo(11);
+			assertThat(search("ohns")).extracting(OwnerSummary::id).containsExactly(saved.getId());
+		}
+		finally {
+			transaction.executeWithoutResult(status -> this.owners.deleteById(saved.getId()));
+		}
+		assertThat(search("ohns")).isEmpty();
+	}
+
+	@Test
+	void shouldIndexCommittedOwnersOnly() {
+		TransactionTemplate transaction = new TransactionTemplate(this.transactionManager);
+		transaction.executeWithoutResult(status -> {
+			this.owners.save(owner("Johnson"));
+			status.setRollbackOnly();
+		});
+		assertThat(search("ohns")).isEmpty();
+
+		Owner saved = transaction.execute(status -> this.owners.save(owner("Johnson")));
+		assertThat(search("ohns")).extracting(OwnerSummary::id).containsExactly(saved.getId());
+
+		saved.setLastName("Jonsson");
+		transaction.executeWithoutResult(status -> this.owners.save(saved));
+		assertThat(search("ohns")).isEmpty();
+		assertThat(search("onss")).extracting(OwnerSummary::id).containsExactly(saved.getId());
+
+		transaction.executeWithoutResult(status -> this.owners.deleteById(saved.getId()));
+		assertThat(search("onss")).isEmpty();
+	}
+
+	private List<OwnerSummary> search(String text) {
+		return this.index.search(text, PageRequest.of(0, 20)).getContent();
+	}
+
+	private static Owner owner(String lastName) {
+		Owner owner = new Owner();
+		owner.setFirstName("Sam");
+		owner.setLastName(lastName);
+		owner.setAddress("4, Evans Street");
+		owner.setCity("Wollongong");
+		owner.setTelephone("4444444444");
+		return owner;
+	}
+
+}
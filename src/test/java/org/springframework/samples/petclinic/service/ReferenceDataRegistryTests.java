@@ -0,0 +1,74 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.samples.petclinic.domain.reference.ReferenceDataRegistry;
+import org.springframework.samples.petclinic.domain.repository.PetTypeRepository;
+import org.springframework.samples.petclinic.formatting.persistance.model.PetType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration test of the {@link ReferenceDataRegistry}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ReferenceDataRegistryTests {
+
+	@Autowired
+	private ReferenceDataRegistry referenceData;
+
+	@Autowired
+	private PetTypeRepository petTypes;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void shouldLookUpReferenceDataByIdAndName() {
+		assertThat(this.referenceData.getPetTypes()).extracting(PetType::getName)
+			.containsExactly("bird", "cat", "dog", "hamster", "lizard", "snake");
+		assertThat(this.referenceData.findPetType("dog"))
+			.hasValueSatisfying(type -> assertThat(type.getId()).isEqualTo(2));
+		assertThat(this.referenceData.findPetType(2))
+			.hasValueSatisfying(type -> assertThat(type.getName()).isEqualTo("dog"));
+		assertThat(this.referenceData.findPetType("unicorn")).isEmpty();
+	}
+
+	@Test
+	void shouldRefreshOnceAWriteCommits() {
+		TransactionTemplate transaction = new TransactionTemplate(this.transactionManager);
+		String revision = this.referenceData.getRevision();
+		PetType ferret = new PetType();
+		ferret.setName("ferret");
+		PetType saved = transaction.execute(status -> this.petTypes.save(ferret));
+		try {
+			assertThat(this.referenceData.findPetType("ferret")).isPresent();
+			assertThat(this.referenceData.findPetType(saved.getId())).isPresent();
+			assertThat(this.referenceData.getRevision()).isNotEqualTo(revision);
+		}
+		finally {
+			transaction.executeWithoutResult(status -> this.petTypes.deleteById(saved.getId()));
+		}
+		assertThat(this.referenceData.findPetType("ferret")).isEmpty();
+		assertThat(this.referenceData.getRevision()).isEqualTo(revision);
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.service;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.samples.petclinic.domain.repository.PetRepository;
+import org.springframework.samples.petclinic.domain.repository.VisitRepository;
+import org.springframework.samples.petclinic.formatting.persistance.owner.Pet;
+import org.springframework.samples.petclinic.formatting.persistance.owner.Visit;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Compares the insert throughput of bulk visit creation with IDENTITY ids and with ids
+ * allocated in blocks by the <code>pooled-ids</code> profile, which lets Hibernate send
+ * the inserts in JDBC batches. Run with <code>-Dpetclinic.benchmark=true</code>; each
+ * test prints its result. Inserted rows are rolled back.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@EnabledIfSystemProperty(named = "petclinic.benchmark", matches = "true")
+class VisitInsertBenchmarkTests {
+
+	private static final int VISITS = 20_000;
+
+	private static final int FLUSH_EVERY = 500;
+
+	@Nested
+	class IdentityIds {
+
+		@Autowired
+		private PetRepository pets;
+
+		@Autowired
+		private VisitRepository visits;
+
+		@Autowired
+		private TestEntityManager entityManager;
+
+		@Test
+		void insertVisits() {
+			benchmark("identity", this.pets, this.visits, this.entityManager);
+		}
+
+	}
+
+	@Nested
+	@ActiveProfiles("pooled-ids")
+	class PooledIds {
+
+		@Autowired
+		private PetRepository pets;
+
+		@Autowired
+		private VisitRepository visits;
+
+		@Autowired
+		private TestEntityManager entityManager;
+
+		@Test
+		void insertVisits() {
+			benchmark("pooled-ids", this.pets, this.visits, this.entityManager);
+		}
+
+	}
+
+	private static void benchmark(String label, PetRepository pets, VisitRepository visits,
+			TestEntityManager entityManager) {
+		// first round warms up the JIT and the connection, second round is measured
+		insertVisits(pets, visits, entityManager);
+		long elapsed = insertVisits(pets, visits, entityManager);
+		System.out.printf("%s: %d visits in %d ms (%.0f visits/s)%n", label, VISITS, elapsed / 1_000_000,
+				VISITS * 1e9 / elapsed);
+	}
+
+	private static long insertVisits(PetRepository pets, VisitRepository visits, TestEntityManager entityManager) {
+		long start = System.nanoTime();
+		for (int i = 1; i <= VISITS; i++) {
+			Pet pet = pets.getReferenceById(1 + i % 13);
+			Visit visit = new Visit();
+			visit.setDescription("benchmark " + i);
+			visit.setPet(pet);
+			visits.save(visit);
+			if (i % FLUSH_EVERY == 0) {
+				entityManager.flush();
+				entityManager.clear();
+			}
+		}
+		entityManager.flush();
+		entityManager.clear();
+		return System.nanoTime() - start;
+	}
+
+}
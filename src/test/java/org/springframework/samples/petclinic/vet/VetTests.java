@@ -15,11 +15,15 @@
  */
 package org.springframework.samples.petclinic.vet;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
+import org.springframework.samples.petclinic.formatting.persistance.vet.Specialty;
 import org.springframework.samples.petclinic.formatting.persistance.vet.Vet;
 import org.springframework.util.SerializationUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 /**
  * @author Dave Syer
@@ -39,4 +43,26 @@ class VetTests {
 		assertThat(other.getId()).isEqualTo(vet.getId());
 	}
 
+	@Test
+	void testSpecialtiesSortedOnceUntilChanged() {
+		Vet vet = new Vet();
+		vet.addSpecialty(specialty("surgery"));
+		vet.addSpecialty(specialty("dentistry"));
+		List<Specialty> specialties = vet.getSpecialties();
+		assertThat(specialties).extracting(Specialty::getName).containsExactly("dentistry", "surgery");
+		assertThat(vet.getSpecialties()).isSameAs(specialties);
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+			.isThrownBy(() -> specialties.add(specialty("radiology")));
+
+		vet.addSpecialty(specialty("radiology"));
+		assertThat(vet.getSpecialties()).extracting(Specialty::getName)
+			.containsExactly("dentistry", "radiology", "surgery");
+	}
+
+	private static Specialty specialty(String name) {
+		Specialty specialty = new Specialty();
+		specialty.setName(name);
+		return specialty;
+	}
+
 }